@@ -0,0 +1,94 @@
+package com.cinema.benchmarks;
+
+import java.io.File;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.cinema.CinemaBookingApplication;
+import com.cinema.entity.Movie;
+import com.cinema.entity.Showtime;
+import com.cinema.entity.User;
+import com.cinema.repository.MovieRepository;
+import com.cinema.repository.ShowtimeRepository;
+import com.cinema.repository.UserRepository;
+import com.cinema.service.SeatService;
+
+// Boots the real application context (web server on a random port, as the security
+// configuration needs a servlet context) against an embedded H2
+// database, either in memory or in a throw-away file under target/.
+public final class BenchmarkApplication implements AutoCloseable {
+
+    public static final String MEM = "mem";
+    public static final String FILE = "file";
+
+    private final ConfigurableApplicationContext context;
+
+    private BenchmarkApplication(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    // Extra arguments override application.yml, e.g. "--cinema.datasource.write.maximum-pool-size=4"
+    public static BenchmarkApplication start(String database, String... overrides) {
+        String name = "bench-" + UUID.randomUUID();
+        String url = FILE.equals(database)
+                ? "jdbc:h2:file:" + new File("target/jmh-db", name).getAbsolutePath()
+                : "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1";
+
+        // Passed as arguments: builder properties are defaults and would lose to application.yml
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=" + url,
+                "--server.port=0",
+                "--spring.jpa.show-sql=false",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN"));
+        args.addAll(List.of(overrides));
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(CinemaBookingApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .run(args.toArray(String[]::new));
+        return new BenchmarkApplication(context);
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public User createUser() {
+        User user = new User();
+        String username = "bench-" + UUID.randomUUID();
+        user.setUsername(username);
+        user.setPassword("bench");
+        user.setEmail(username + "@cinema.com");
+        user.setFullName("Benchmark User");
+        user.setRole(User.UserRole.CUSTOMER);
+        return bean(UserRepository.class).save(user);
+    }
+
+    public Movie createMovie(String title, String genre, double rating) {
+        return bean(MovieRepository.class).save(new Movie(title, "Benchmark movie", genre, 120,
+                "https://via.placeholder.com/300", rating, true, LocalDateTime.now()));
+    }
+
+    public Showtime createShowtime(Movie movie, int totalSeats) {
+        Showtime showtime = new Showtime();
+        showtime.setMovie(movie);
+        showtime.setShowTime(LocalDateTime.now().plusDays(1));
+        showtime.setHall("Hall 1");
+        showtime.setTicketPrice(250.0);
+        showtime.setTotalSeats(totalSeats);
+        showtime.setAvailableSeats(totalSeats);
+        Showtime saved = bean(ShowtimeRepository.class).save(showtime);
+        bean(SeatService.class).initializeSeatsForShowtime(saved);
+        return saved;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,89 @@
+package com.cinema.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.cinema.dto.BookingDTO;
+import com.cinema.entity.Booking;
+import com.cinema.entity.Movie;
+import com.cinema.entity.Seat;
+import com.cinema.entity.Showtime;
+import com.cinema.repository.SeatRepository;
+import com.cinema.service.BookingFacade;
+
+// BookingFacade.initiateBooking end to end; every booking is cancelled again
+// after the invocation so the same seats can be held on the next one.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingBenchmark {
+
+    @Param({BenchmarkApplication.MEM, BenchmarkApplication.FILE})
+    private String database;
+
+    @Param({"1", "10"})
+    private int seatsPerBooking;
+
+    private BenchmarkApplication app;
+    private BookingFacade bookingFacade;
+    private Long userId;
+    private Long movieId;
+    private Long showtimeId;
+    private List<Long> seatIds;
+    private BookingDTO lastBooking;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        app = BenchmarkApplication.start(database);
+        bookingFacade = app.bean(BookingFacade.class);
+
+        Movie movie = app.createMovie("Benchmark", "Action", 8.0);
+        Showtime showtime = app.createShowtime(movie, 100);
+        userId = app.createUser().getId();
+        movieId = movie.getId();
+        showtimeId = showtime.getId();
+        seatIds = app.bean(SeatRepository.class).findByShowtimeId(showtimeId).stream()
+                .map(Seat::getId)
+                .limit(seatsPerBooking)
+                .toList();
+    }
+
+    @TearDown(Level.Invocation)
+    public void cancelBooking() {
+        if (lastBooking != null) {
+            bookingFacade.cancelBooking(lastBooking.getId());
+            lastBooking = null;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        app.close();
+    }
+
+    @Benchmark
+    public BookingDTO initiateBooking() {
+        lastBooking = bookingFacade.initiateBooking(userId, movieId, showtimeId, seatIds, Booking.PaymentMethod.CASH);
+        if (lastBooking == null) {
+            throw new IllegalStateException("Booking was rejected, seats were not released");
+        }
+        return lastBooking;
+    }
+}
@@ -0,0 +1,104 @@
+package com.cinema.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.cinema.config.DatabaseConfig;
+import com.cinema.entity.Booking;
+import com.cinema.payment.PaymentProcessor;
+import com.cinema.repository.MovieRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Write-pool saturation under payment-bound work: 32 threads each read a row and
+// charge a (simulated, 1 s) Cash payment, either inside the transaction, holding the
+// connection for the whole gateway call, or after it. Connection checkouts that time
+// out are counted instead of failing the run; pool acquire wait and timeouts are
+// printed per trial from the hikaricp.connections.* meters.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(32)
+@Fork(1)
+public class ConnectionPoolSaturationBenchmark {
+
+    @Param({"4", "16"})
+    private int poolSize;
+
+    @Param({"true", "false"})
+    private boolean chargeInTransaction;
+
+    private BenchmarkApplication app;
+    private TransactionTemplate transactionTemplate;
+    private MovieRepository movieRepository;
+    private PaymentProcessor paymentProcessor;
+    private Long movieId;
+    private final LongAdder checkoutFailures = new LongAdder();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // The gateway gets more connections than there are threads so only the database pool can saturate
+        app = BenchmarkApplication.start(BenchmarkApplication.MEM,
+                "--cinema.datasource.write.maximum-pool-size=" + poolSize,
+                "--cinema.datasource.write.minimum-idle=" + poolSize,
+                "--cinema.datasource.write.connection-timeout=2000",
+                "--cinema.payment.gateway.cash.pool-size=64");
+        transactionTemplate = app.bean(TransactionTemplate.class);
+        movieRepository = app.bean(MovieRepository.class);
+        paymentProcessor = app.bean(PaymentProcessor.class);
+        movieId = app.createMovie("Benchmark", "Action", 8.0).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Timer acquire = app.bean(MeterRegistry.class).find("hikaricp.connections.acquire")
+                .tag("pool", DatabaseConfig.WRITE_POOL)
+                .timer();
+        if (acquire != null) {
+            System.out.printf("%n%s pool of %d, charge in transaction %s: %d checkouts, mean wait %.1f ms, "
+                            + "max wait %.1f ms, %d checkout failures%n",
+                    DatabaseConfig.WRITE_POOL, poolSize, chargeInTransaction, acquire.count(),
+                    acquire.mean(TimeUnit.MILLISECONDS), acquire.max(TimeUnit.MILLISECONDS),
+                    checkoutFailures.sum());
+        }
+        app.close();
+    }
+
+    @Benchmark
+    public boolean payForBooking() {
+        try {
+            if (chargeInTransaction) {
+                return Boolean.TRUE.equals(transactionTemplate.execute(tx -> {
+                    movieRepository.findById(movieId);
+                    return paymentProcessor.pay(Booking.PaymentMethod.CASH, 250.0, "counter");
+                }));
+            }
+            transactionTemplate.executeWithoutResult(tx -> movieRepository.findById(movieId));
+            return paymentProcessor.pay(Booking.PaymentMethod.CASH, 250.0, "counter");
+        } catch (DataAccessException | TransactionException e) {
+            checkoutFailures.increment();
+            return false;
+        }
+    }
+}
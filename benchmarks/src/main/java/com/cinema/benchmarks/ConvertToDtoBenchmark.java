@@ -0,0 +1,107 @@
+package com.cinema.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.cinema.dto.BookingDTO;
+import com.cinema.dto.MovieDTO;
+import com.cinema.dto.SeatDTO;
+import com.cinema.dto.ShowtimeDTO;
+import com.cinema.entity.Booking;
+import com.cinema.entity.BookingBuilder;
+import com.cinema.entity.Movie;
+import com.cinema.entity.Seat;
+import com.cinema.entity.Showtime;
+import com.cinema.entity.User;
+import com.cinema.repository.SeatRepository;
+import com.cinema.service.BookingService;
+import com.cinema.service.MovieService;
+import com.cinema.service.SeatService;
+import com.cinema.service.ShowtimeService;
+
+// The convertToDTO mappers on already loaded entities
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConvertToDtoBenchmark {
+
+    private BenchmarkApplication app;
+    private MovieService movieService;
+    private ShowtimeService showtimeService;
+    private SeatService seatService;
+    private BookingService bookingService;
+
+    private Movie movie;
+    private Showtime showtime;
+    private Seat seat;
+    private Booking booking;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        app = BenchmarkApplication.start(BenchmarkApplication.MEM);
+        movieService = app.bean(MovieService.class);
+        showtimeService = app.bean(ShowtimeService.class);
+        seatService = app.bean(SeatService.class);
+        bookingService = app.bean(BookingService.class);
+
+        User user = app.createUser();
+        movie = app.createMovie("Benchmark", "Action", 8.0);
+        showtime = app.createShowtime(movie, 100);
+        List<Seat> seats = new ArrayList<>(app.bean(SeatRepository.class).findByShowtimeId(showtime.getId()));
+        seat = seats.get(0);
+
+        booking = new BookingBuilder()
+                .withUser(user)
+                .withMovie(movie)
+                .withShowtime(showtime)
+                .withSeats(seats.subList(0, 4))
+                .withTotalPrice(1000.0)
+                .withPaymentMethod(Booking.PaymentMethod.VISA)
+                .withBookingDate(LocalDateTime.now())
+                .build();
+        booking.setId(1L);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        app.close();
+    }
+
+    @Benchmark
+    public MovieDTO movieToDto() {
+        return movieService.convertToDTO(movie);
+    }
+
+    @Benchmark
+    public ShowtimeDTO showtimeToDto() {
+        return showtimeService.convertToDTO(showtime);
+    }
+
+    @Benchmark
+    public SeatDTO seatToDto() {
+        return seatService.convertToDTO(seat);
+    }
+
+    @Benchmark
+    public BookingDTO bookingToDto() {
+        return bookingService.convertToDTO(booking);
+    }
+}
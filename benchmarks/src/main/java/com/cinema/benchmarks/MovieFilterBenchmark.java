@@ -0,0 +1,66 @@
+package com.cinema.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.cinema.entity.Movie;
+import com.cinema.service.MovieFilterContext;
+
+// MovieFilterContext.executeFilter over a catalog of the given size
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MovieFilterBenchmark {
+
+    private static final String[] GENRES = {"Action", "Comedy", "Drama", "Sci-Fi", "Horror", "Romance"};
+
+    @Param({BenchmarkApplication.MEM, BenchmarkApplication.FILE})
+    private String database;
+
+    @Param({"100", "5000"})
+    private int catalogSize;
+
+    private BenchmarkApplication app;
+    private MovieFilterContext filterContext;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        app = BenchmarkApplication.start(database);
+        filterContext = app.bean(MovieFilterContext.class);
+        for (int i = 0; i < catalogSize; i++) {
+            app.createMovie("Movie " + i, GENRES[i % GENRES.length], 5.0 + (i % 50) / 10.0);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        app.close();
+    }
+
+    @Benchmark
+    public List<Movie> filterByGenre() {
+        return filterContext.executeFilter("GENRE", "drama");
+    }
+
+    @Benchmark
+    public List<Movie> filterByRating() {
+        return filterContext.executeFilter("RATING", "8.5");
+    }
+}
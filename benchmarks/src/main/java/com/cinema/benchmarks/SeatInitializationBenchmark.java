@@ -0,0 +1,58 @@
+package com.cinema.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.cinema.entity.Showtime;
+import com.cinema.service.SeatService;
+
+// SeatService.initializeSeatsForShowtime: regenerates every seat of one showtime
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SeatInitializationBenchmark {
+
+    @Param({BenchmarkApplication.MEM, BenchmarkApplication.FILE})
+    private String database;
+
+    @Param({"100", "500", "2000"})
+    private int hallSize;
+
+    private BenchmarkApplication app;
+    private SeatService seatService;
+    private Showtime showtime;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        app = BenchmarkApplication.start(database);
+        seatService = app.bean(SeatService.class);
+        showtime = app.createShowtime(app.createMovie("Benchmark", "Drama", 7.5), hallSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        app.close();
+    }
+
+    @Benchmark
+    public Showtime initializeSeats() {
+        seatService.initializeSeatsForShowtime(showtime);
+        return showtime;
+    }
+}
@@ -0,0 +1,41 @@
+package com.cinema.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+// Catalog cache: the active movie list, its genres and DTOs only change through
+// the admin write paths in MovieService, which evict all of them together.
+// Hall layouts are evicted by HallLayoutService when a hall is saved.
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String ACTIVE_MOVIES = "activeMovies";
+    public static final String MOVIE_GENRES = "movieGenres";
+    public static final String MOVIE_DTOS = "movieDtos";
+    public static final String HALL_LAYOUTS = "hallLayouts";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${cinema.cache.catalog.maximum-size:1000}") long maximumSize,
+            @Value("${cinema.cache.catalog.ttl:10m}") Duration ttl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats());
+        // Declared up front so Actuator binds hit/miss/eviction metrics at startup
+        cacheManager.setCacheNames(List.of(ACTIVE_MOVIES, MOVIE_GENRES, MOVIE_DTOS, HALL_LAYOUTS));
+        cacheManager.setAllowNullValues(false);
+        return cacheManager;
+    }
+}
@@ -7,8 +7,10 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import com.cinema.entity.Hall;
 import com.cinema.entity.Movie;
 import com.cinema.entity.User;
+import com.cinema.repository.HallRepository;
 import com.cinema.repository.MovieRepository;
 import com.cinema.repository.UserRepository;
 
@@ -19,6 +21,7 @@ public class DataInitializer {
     public CommandLineRunner initData(
             MovieRepository movieRepo, 
             UserRepository userRepo,
+            HallRepository hallRepo,
             PasswordEncoder passwordEncoder) {
         return args -> {
             if (userRepo.findByUsername("admin").isEmpty()) {
@@ -33,6 +36,12 @@ public class DataInitializer {
                 System.out.println("✓ Admin user created: admin/admin123");
             }
 
+            if (hallRepo.count() == 0) {
+                hallRepo.save(new Hall("Screen 1", 10, 10, "2,8", "9,10"));
+                hallRepo.save(new Hall("IMAX", 16, 24, "4,20", "7,8,9,10"));
+                System.out.println("✓ Sample halls created");
+            }
+
             if (movieRepo.count() == 0) {
                 Movie m1 = new Movie();
                 m1.setTitle("Inception");
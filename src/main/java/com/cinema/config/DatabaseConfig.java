@@ -1,69 +1,86 @@
 package com.cinema.config;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import java.util.Map;
 
-public class DatabaseConfig {
-
-    private static final Logger log = LoggerFactory.getLogger(DatabaseConfig.class);
-
-    private static DatabaseConfig instance;
-    private String dbUrl;
-    private String dbUsername;
-    private String dbPassword;
-    private int maxConnections;
+import javax.sql.DataSource;
 
-    private DatabaseConfig() {
-        this.dbUrl = "jdbc:h2:mem:cinemadb";
-        this.dbUsername = "sa";
-        this.dbPassword = "";
-        this.maxConnections = 20;
-        log.info("DatabaseConfig singleton instance created");
-    }
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-    public synchronized static DatabaseConfig getInstance() {
-        if (instance == null) {
-            instance = new DatabaseConfig();
-        }
-        return instance;
-    }
+import com.zaxxer.hikari.HikariDataSource;
 
-    public String getDbUrl() {
-        return dbUrl;
-    }
+import io.micrometer.core.instrument.MeterRegistry;
 
-    public void setDbUrl(String dbUrl) {
-        this.dbUrl = dbUrl;
-    }
-
-    public String getDbUsername() {
-        return dbUsername;
-    }
+// Two Hikari pools behind the application's DataSource: read-only transactions
+// (@Transactional(readOnly = true) and Spring Data's inherited read methods) run
+// on the read pool, everything else on the write pool. Both start from
+// spring.datasource.*; pool size, leak detection and driver statement caching are
+// bound per pool from cinema.datasource.{write,read}.*, and
+// cinema.datasource.read.jdbc-url points the read pool at a replica. Hikari
+// publishes hikaricp.connections.* (acquire wait, usage, pending) per pool.
+//
+// Only the transaction decides the route: statements outside one (a derived finder
+// called from a controller, a lazy load) go to the write pool, and open-in-view is
+// off so a request cannot carry one pool's connection into the next transaction.
+// A replica has no read-your-writes, so a read that must see the caller's own
+// commit (booking details after payment, idempotency replays) uses a read-write
+// transaction rather than readOnly = true.
+@Configuration
+public class DatabaseConfig {
 
-    public void setDbUsername(String dbUsername) {
-        this.dbUsername = dbUsername;
-    }
+    public static final String WRITE_POOL = "cinema-write";
+    public static final String READ_POOL = "cinema-read";
 
-    public String getDbPassword() {
-        return dbPassword;
+    private enum Route {
+        WRITE,
+        READ
     }
 
-    public void setDbPassword(String dbPassword) {
-        this.dbPassword = dbPassword;
+    @Bean
+    @ConfigurationProperties("cinema.datasource.write")
+    public HikariDataSource writeDataSource(DataSourceProperties properties, MeterRegistry meterRegistry) {
+        return pool(properties, WRITE_POOL, meterRegistry);
     }
 
-    public int getMaxConnections() {
-        return maxConnections;
+    @Bean
+    @ConfigurationProperties("cinema.datasource.read")
+    public HikariDataSource readDataSource(DataSourceProperties properties, MeterRegistry meterRegistry) {
+        HikariDataSource dataSource = pool(properties, READ_POOL, meterRegistry);
+        dataSource.setReadOnly(true);
+        return dataSource;
     }
 
-    public void setMaxConnections(int maxConnections) {
-        this.maxConnections = maxConnections;
+    // The route is only known once the transaction is set up, after the transaction
+    // manager asked for a connection; the lazy proxy defers the real checkout until
+    // the first statement, so the connection also returns as soon as possible.
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("writeDataSource") DataSource writeDataSource,
+                                 @Qualifier("readDataSource") DataSource readDataSource) {
+        AbstractRoutingDataSource routing = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? Route.READ : Route.WRITE;
+            }
+        };
+        routing.setTargetDataSources(Map.of(Route.WRITE, writeDataSource, Route.READ, readDataSource));
+        routing.setDefaultTargetDataSource(writeDataSource);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
     }
 
-    public void displayConfig() {
-        log.info("=== Database Configuration ===");
-        log.info("URL: {}", dbUrl);
-        log.info("Username: {}", dbUsername);
-        log.info("Max Connections: {}", maxConnections);
+    // Registered before binding so Boot's Hikari metrics binder leaves the pool alone
+    private static HikariDataSource pool(DataSourceProperties properties, String poolName, MeterRegistry meterRegistry) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(poolName);
+        dataSource.setMetricRegistry(meterRegistry);
+        return dataSource;
     }
 }
@@ -0,0 +1,104 @@
+package com.cinema.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+// Per-logger rate sampling for the prod logging profile. Each rule caps a logger
+// (and its children, longest prefix wins) at a number of events per second; events
+// below the threshold level over that budget are dropped before a message is ever
+// formatted. Configured in logback-spring.xml:
+//   <rule>com.cinema.service=100</rule>
+// Logger names with no rule are not sampled.
+public class LogSamplingFilter extends TurboFilter {
+
+    private static final long WINDOW_NANOS = 1_000_000_000L;
+
+    private final List<String> rules = new ArrayList<>();
+    private final Map<String, Budget> budgetsByLogger = new ConcurrentHashMap<>();
+    private final Map<String, Budget> budgetsByPrefix = new ConcurrentHashMap<>();
+    private Level threshold = Level.WARN;
+
+    // Events at or above this level are never sampled
+    public void setThreshold(String threshold) {
+        this.threshold = Level.toLevel(threshold, Level.WARN);
+    }
+
+    public void addRule(String rule) {
+        rules.add(rule);
+    }
+
+    @Override
+    public void start() {
+        for (String rule : rules) {
+            int separator = rule.lastIndexOf('=');
+            if (separator <= 0) {
+                addError("Ignoring log sampling rule without a rate: " + rule);
+                continue;
+            }
+            try {
+                int perSecond = Integer.parseInt(rule.substring(separator + 1).trim());
+                budgetsByPrefix.put(rule.substring(0, separator).trim(), new Budget(perSecond));
+            } catch (NumberFormatException e) {
+                addError("Ignoring log sampling rule with an invalid rate: " + rule);
+            }
+        }
+        super.start();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // A null format is an isXxxEnabled() check, not an event; disabled levels are not counted either
+        if (format == null || level.isGreaterOrEqual(threshold) || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        Budget budget = budgetsByLogger.computeIfAbsent(logger.getName(), this::budgetFor);
+        return budget == Budget.UNLIMITED || budget.tryAcquire() ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private Budget budgetFor(String loggerName) {
+        String name = loggerName;
+        while (true) {
+            Budget budget = budgetsByPrefix.get(name);
+            if (budget != null) {
+                return budget;
+            }
+            int dot = name.lastIndexOf('.');
+            if (dot < 0) {
+                return Budget.UNLIMITED;
+            }
+            name = name.substring(0, dot);
+        }
+    }
+
+    // Fixed one-second window shared by every logger the rule matches
+    private static final class Budget {
+        static final Budget UNLIMITED = new Budget(Integer.MAX_VALUE);
+
+        private final int perSecond;
+        private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+        private final AtomicLong used = new AtomicLong();
+
+        Budget(int perSecond) {
+            this.perSecond = perSecond;
+        }
+
+        boolean tryAcquire() {
+            long now = System.nanoTime();
+            long start = windowStart.get();
+            if (now - start >= WINDOW_NANOS && windowStart.compareAndSet(start, now)) {
+                used.set(0);
+            }
+            return used.incrementAndGet() <= perSecond;
+        }
+    }
+}
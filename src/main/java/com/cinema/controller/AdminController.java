@@ -49,7 +49,7 @@ public class AdminController {
         log.info("Admin dashboard accessed");
         model.addAttribute("totalMovies", movieRepository.count());
         model.addAttribute("totalShowtimes", showtimeRepository.count());
-        model.addAttribute("activeMovies", movieRepository.findByIsActiveTrue().size());
+        model.addAttribute("activeMovies", movieService.getAllActiveMovies().size());
         return "admin/dashboard";
     }
 
@@ -98,7 +98,7 @@ public class AdminController {
     @PostMapping("/movies/{id}/delete")
     public String deleteMovie(@PathVariable Long id, RedirectAttributes redirectAttributes) {
         log.info("Admin: Deleting movie: {}", id);
-        movieRepository.deleteById(id);
+        movieService.deleteMovie(id);
         redirectAttributes.addFlashAttribute("success", "Movie deleted successfully!");
         return "redirect:/admin/movies";
     }
@@ -106,10 +106,7 @@ public class AdminController {
     @PostMapping("/movies/{id}/toggle")
     public String toggleMovieStatus(@PathVariable Long id, RedirectAttributes redirectAttributes) {
         log.info("Admin: Toggling movie status: {}", id);
-        Movie movie = movieRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Movie not found"));
-        movie.setIsActive(!movie.getIsActive());
-        movieRepository.save(movie);
+        Movie movie = movieService.toggleMovieStatus(id);
         redirectAttributes.addFlashAttribute("success", 
             "Movie " + (movie.getIsActive() ? "activated" : "deactivated") + " successfully!");
         return "redirect:/admin/movies";
@@ -119,7 +116,7 @@ public class AdminController {
     public String listShowtimes(Model model) {
         log.info("Admin: Listing all showtimes");
         model.addAttribute("showtimes", showtimeRepository.findAll());
-        model.addAttribute("movies", movieRepository.findByIsActiveTrue());
+        model.addAttribute("movies", movieService.getAllActiveMovies());
         return "admin/showtimes";
     }
 
@@ -220,6 +217,7 @@ public class AdminController {
     public String deleteShowtime(@PathVariable Long id, RedirectAttributes redirectAttributes) {
         log.info("Admin: Deleting showtime: {}", id);
         showtimeRepository.deleteById(id);
+        seatService.evictSeatMap(id);
         redirectAttributes.addFlashAttribute("success", "Showtime deleted successfully!");
         return "redirect:/admin/showtimes";
     }
@@ -1,10 +1,13 @@
 package com.cinema.controller;
 
 import java.util.List;
+import java.util.UUID;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -12,16 +15,23 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.cinema.dto.SeatDTO;
 import com.cinema.entity.Booking;
+import com.cinema.entity.IdempotencyRecord;
 import com.cinema.entity.Movie;
 import com.cinema.entity.Showtime;
 import com.cinema.entity.User;
 import com.cinema.repository.UserRepository;
 import com.cinema.service.BookingFacade;
+import com.cinema.service.IdempotencyService;
 import com.cinema.service.MovieService;
+import com.cinema.service.PaymentPipeline;
 import com.cinema.service.ShowtimeService;
 
 // FACADE PATTERN
@@ -32,9 +42,14 @@ public class BookingController {
 
     private static final Logger log = LoggerFactory.getLogger(BookingController.class);
 
+    private static final String IDEMPOTENCY_HEADER = "Idempotency-Key";
+
     @Autowired
     private BookingFacade bookingFacade;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -49,7 +64,7 @@ public class BookingController {
             @PathVariable Long showtimeId,
             @RequestParam(required = false) Long movieId,
             Model model) {
-        log.info("Displaying seat selection for showtime: {}", showtimeId);
+        log.debug("Displaying seat selection for showtime: {}", showtimeId);
         
         List<SeatDTO> seats = bookingFacade.getSeatLayoutForShowtime(showtimeId);
         var showtimeOpt = showtimeService.getShowtimeById(showtimeId);
@@ -64,9 +79,17 @@ public class BookingController {
         model.addAttribute("showtimeId", showtimeId);
         model.addAttribute("movieId", movieId);
         model.addAttribute("seats", seats);
+        model.addAttribute("seatsPerRow", seats.stream().mapToInt(SeatDTO::getColumnNumber).max().orElse(10));
         return "booking/seat-selection";
     }
 
+    // Server-sent events: a "snapshot" of taken seats, then coalesced "delta" events
+    @GetMapping(path = "/seats/{showtimeId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public SseEmitter streamSeats(@PathVariable Long showtimeId) {
+        return bookingFacade.watchSeatAvailability(showtimeId);
+    }
+
    @GetMapping("/payment")
     public String showPayment(
             @RequestParam Long movieId,
@@ -74,7 +97,7 @@ public class BookingController {
             @RequestParam List<Long> seatIds,
             Model model) {
         
-        log.info("Showing payment page for showtime: {}", showtimeId);
+        log.debug("Showing payment page for showtime: {}", showtimeId);
 
         var movieOpt = movieService.getMovieById(movieId);
         var showtimeOpt = showtimeService.getShowtimeById(showtimeId);
@@ -96,17 +119,22 @@ public class BookingController {
         model.addAttribute("movieId", movieId);
         model.addAttribute("showtimeId", showtimeId);
         model.addAttribute("seatIds", seatIds);
+        model.addAttribute("idempotencyKey", UUID.randomUUID().toString());
         
         return "booking/payment";
     }
 
     // STRATEGY PATTERN
+    // A replayed idempotency key (double-submit, proxy retry) gets the original
+    // booking back without holding seats or charging again
     @PostMapping("/initiate")
     public String initiateBooking(
             @RequestParam Long movieId,
             @RequestParam Long showtimeId,
             @RequestParam List<Long> seatIds,
             @RequestParam Booking.PaymentMethod paymentMethod,
+            @RequestParam(required = false) String idempotencyKey,
+            @RequestHeader(value = IDEMPOTENCY_HEADER, required = false) String idempotencyHeader,
             Authentication authentication,
             Model model) {
         
@@ -114,17 +142,27 @@ public class BookingController {
         
         User user = userRepository.findByUsername(authentication.getName())
                 .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        var booking = bookingFacade.initiateBooking(user.getId(), movieId, showtimeId, seatIds, paymentMethod);
-        
+
+        String fingerprint = movieId + "|" + showtimeId + "|" + seatIds.stream().distinct().sorted().toList()
+                + "|" + paymentMethod;
+        String key = idempotencyKey(idempotencyHeader, idempotencyKey);
+        IdempotencyService.Outcome outcome;
+        try {
+            outcome = idempotencyService.execute(user.getId(), IdempotencyRecord.Operation.INITIATE, key, fingerprint,
+                    () -> bookingFacade.initiateBooking(user.getId(), movieId, showtimeId, seatIds, paymentMethod));
+        } catch (RuntimeException e) {
+            log.warn("Booking request rejected: {}", e.getMessage());
+            model.addAttribute("error", e.getMessage());
+            return "booking/error";
+        }
+
+        var booking = outcome.getBooking();
         if (booking != null) {
-            String txnId = "TXN-ID@" + System.currentTimeMillis();
-            boolean success = bookingFacade.confirmBookingPayment(booking.getId(), txnId);
-            
-            if (success) {
-                model.addAttribute("booking", bookingFacade.getBookingDetails(booking.getId()));
-                return "booking/success";
+            if (!outcome.isReplayed()) {
+                String txnId = "TXN-ID@" + System.currentTimeMillis();
+                bookingFacade.submitBookingPayment(booking.getId(), txnId);
             }
+            return "redirect:/booking/status/" + booking.getId();
         }
         
         model.addAttribute("error", "Booking failed. Please try again.");
@@ -135,12 +173,76 @@ public class BookingController {
     public String confirmBooking(
             @RequestParam Long bookingId,
             @RequestParam String transactionDetails,
+            @RequestParam(required = false) String idempotencyKey,
+            @RequestHeader(value = IDEMPOTENCY_HEADER, required = false) String idempotencyHeader,
+            Authentication authentication,
             Model model) {
-        
-        if (bookingFacade.confirmBookingPayment(bookingId, transactionDetails)) {
-            model.addAttribute("booking", bookingFacade.getBookingDetails(bookingId));
+
+        User user = userRepository.findByUsername(authentication.getName())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        String key = idempotencyKey(idempotencyHeader, idempotencyKey);
+        IdempotencyService.Outcome outcome;
+        try {
+            outcome = idempotencyService.execute(user.getId(), IdempotencyRecord.Operation.CONFIRM, key,
+                    bookingId + "|" + transactionDetails,
+                    () -> bookingFacade.getBookingDetails(bookingId));
+        } catch (RuntimeException e) {
+            log.warn("Payment request rejected: {}", e.getMessage());
+            model.addAttribute("error", e.getMessage());
+            return "booking/error";
+        }
+
+        if (outcome.getBooking() != null && (!outcome.isReplayed() || awaitsPayment(bookingId))) {
+            bookingFacade.submitBookingPayment(bookingId, transactionDetails);
+        }
+        return "redirect:/booking/status/" + bookingId;
+    }
+
+    // The header wins over the form field. A key that cannot be stored is the
+    // client's mistake: 400 before anything runs, not a failed insert.
+    private static String idempotencyKey(String header, String field) {
+        String key = header != null ? header : field;
+        if (key != null && !IdempotencyService.isValidKey(key)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid idempotency key");
+        }
+        return key;
+    }
+
+    // The key is recorded before the payment runs, so it only stands for the booking.
+    // A replay after a failed or lost payment pays again; a confirmed booking or a
+    // charge still in flight is not submitted twice, and the booking service itself
+    // refuses to charge anything that is no longer pending.
+    private boolean awaitsPayment(Long bookingId) {
+        var booking = bookingFacade.getBookingDetails(bookingId);
+        return booking != null
+                && Booking.BookingStatus.PENDING.name().equals(booking.getStatus())
+                && bookingFacade.getPaymentState(bookingId) != PaymentPipeline.PaymentState.PROCESSING;
+    }
+
+    // Polled by the processing page until the payment pipeline has finished. Other
+    // users' bookings answer 404 like missing ones, so ids cannot be probed.
+    @GetMapping("/status/{bookingId}")
+    public String bookingStatus(@PathVariable Long bookingId, Authentication authentication, Model model) {
+        User user = userRepository.findByUsername(authentication.getName())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        var booking = bookingFacade.getBookingDetails(bookingId);
+        if (booking == null || !user.getId().equals(booking.getUserId())) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+
+        if (Booking.BookingStatus.CONFIRMED.name().equals(booking.getStatus())) {
+            model.addAttribute("booking", booking);
             return "booking/success";
         }
+
+        if (bookingFacade.getPaymentState(bookingId) == PaymentPipeline.PaymentState.PROCESSING) {
+            model.addAttribute("bookingId", bookingId);
+            model.addAttribute("refreshSeconds", 1);
+            return "booking/processing";
+        }
+
+        model.addAttribute("error", "Payment failed. Please try again.");
         return "booking/error";
     }
 
@@ -1,7 +1,6 @@
 package com.cinema.controller;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
@@ -49,7 +48,10 @@ public class MovieController {
         List<Movie> movies;
         String selectedGenre = null;
 
-        if (genre != null && !genre.isEmpty()) {
+        if (genre != null && !genre.isEmpty() && minRating != null) {
+            movies = filterContext.executeFilter(genre, minRating, null, null);
+            selectedGenre = genre;
+        } else if (genre != null && !genre.isEmpty()) {
             // Strategy Pattern
             movies = filterContext.executeFilter("GENRE", genre);
             selectedGenre = genre;
@@ -60,11 +62,7 @@ public class MovieController {
             movies = movieService.getAllActiveMovies();
         }
 
-        List<String> genres = movieRepo.findByIsActiveTrue().stream()
-                .map(Movie::getGenre)
-                .filter(g -> g != null && !g.isEmpty())
-                .distinct()
-                .collect(Collectors.toList());
+        List<String> genres = movieService.getActiveGenres();
 
         // Ensure lists are never null
         if (movies == null) {
@@ -85,11 +83,7 @@ public class MovieController {
         // Strategy Pattern
         List<Movie> filteredMovies = filterContext.executeFilter("GENRE", genre);
         
-        List<String> genres = movieRepo.findByIsActiveTrue().stream()
-                .map(Movie::getGenre)
-                .filter(g -> g != null && !g.isEmpty())
-                .distinct()
-                .collect(Collectors.toList());
+        List<String> genres = movieService.getActiveGenres();
 
         // Ensure lists are never null
         if (filteredMovies == null) {
@@ -110,11 +104,7 @@ public class MovieController {
         // Strategy Pattern
         List<Movie> filteredMovies = filterContext.executeFilter("RATING", minRating.toString());
         
-        List<String> genres = movieRepo.findByIsActiveTrue().stream()
-                .map(Movie::getGenre)
-                .filter(g -> g != null && !g.isEmpty())
-                .distinct()
-                .collect(Collectors.toList());
+        List<String> genres = movieService.getActiveGenres();
 
         // Ensure lists are never null
         if (filteredMovies == null) {
@@ -136,7 +126,7 @@ public class MovieController {
         Movie movie = movieRepo.findById(id)
                 .orElseThrow(() -> new RuntimeException("Movie not found"));
         
-        List<Showtime> showtimes = showtimeRepository.findByMovie_Id(id);
+        List<Showtime> showtimes = showtimeRepository.findByMovieId(id);
         
         List<Review> reviews = reviewRepository.findByMovieId(id);
         if (reviews == null) {
@@ -8,6 +8,8 @@ public class SeatDTO {
     private Integer columnNumber;
     private String status;
     private Long bookingId;
+    private String seatType;
+    private boolean aisleAfter;
 
     public SeatDTO() {}
 
@@ -43,4 +45,10 @@ public class SeatDTO {
 
     public Long getBookingId() { return bookingId; }
     public void setBookingId(Long bookingId) { this.bookingId = bookingId; }
-}
\ No newline at end of file
+
+    public String getSeatType() { return seatType; }
+    public void setSeatType(String seatType) { this.seatType = seatType; }
+
+    public boolean isAisleAfter() { return aisleAfter; }
+    public void setAisleAfter(boolean aisleAfter) { this.aisleAfter = aisleAfter; }
+}
@@ -8,7 +8,11 @@ import java.util.List;
 
 // BUILDER PATTERN
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings",
+       indexes = {
+           @Index(name = "idx_bookings_status_hold", columnList = "status, hold_expires_at"),
+           @Index(name = "idx_bookings_user_id", columnList = "user_id, id")
+       })
 public class Booking {
 
     @Id
@@ -30,7 +34,8 @@ public class Booking {
     @ManyToMany
     @JoinTable(name = "booking_seats",
             joinColumns = @JoinColumn(name = "booking_id"),
-            inverseJoinColumns = @JoinColumn(name = "seat_id"))
+            inverseJoinColumns = @JoinColumn(name = "seat_id"),
+            indexes = @Index(name = "idx_booking_seats_booking_seat", columnList = "booking_id, seat_id"))
     private List<Seat> seats = new ArrayList<>();
 
     @Column(nullable = false)
@@ -53,6 +58,10 @@ public class Booking {
     @Column(length = 50)
     private String transactionId;
 
+    // Seats of a PENDING booking are released once this passes
+    @Column(name = "hold_expires_at")
+    private LocalDateTime holdExpiresAt;
+
     public enum BookingStatus {
         PENDING,
         CONFIRMED,
@@ -185,4 +194,12 @@ public class Booking {
     public void setTransactionId(String transactionId) {
         this.transactionId = transactionId;
     }
+
+    public LocalDateTime getHoldExpiresAt() {
+        return holdExpiresAt;
+    }
+
+    public void setHoldExpiresAt(LocalDateTime holdExpiresAt) {
+        this.holdExpiresAt = holdExpiresAt;
+    }
 }
@@ -0,0 +1,97 @@
+package com.cinema.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Booking events written in the same transaction as the booking change and
+// relayed to the observers afterwards; processedAt stays null until delivered and
+// leasedUntil keeps a row away from other polls while it is in flight
+@Entity
+@Table(name = "booking_outbox",
+       indexes = @Index(name = "idx_booking_outbox_pending", columnList = "processed_at, id"))
+public class BookingOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long bookingId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EventType eventType;
+
+    @Column(nullable = false)
+    private String email;
+
+    @Column
+    private String fullName;
+
+    @Column(nullable = false)
+    private String movieTitle;
+
+    @Column
+    private LocalDateTime showTime;
+
+    @Column
+    private Double totalPrice;
+
+    // Comma separated, seat numbers never contain commas
+    @Column(length = 1000)
+    private String seatNumbers;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    @Column(name = "leased_until")
+    private LocalDateTime leasedUntil;
+
+    public enum EventType {
+        CONFIRMED,
+        CANCELLED
+    }
+
+    public BookingOutboxEvent() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getBookingId() { return bookingId; }
+    public void setBookingId(Long bookingId) { this.bookingId = bookingId; }
+
+    public EventType getEventType() { return eventType; }
+    public void setEventType(EventType eventType) { this.eventType = eventType; }
+
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+
+    public String getFullName() { return fullName; }
+    public void setFullName(String fullName) { this.fullName = fullName; }
+
+    public String getMovieTitle() { return movieTitle; }
+    public void setMovieTitle(String movieTitle) { this.movieTitle = movieTitle; }
+
+    public LocalDateTime getShowTime() { return showTime; }
+    public void setShowTime(LocalDateTime showTime) { this.showTime = showTime; }
+
+    public Double getTotalPrice() { return totalPrice; }
+    public void setTotalPrice(Double totalPrice) { this.totalPrice = totalPrice; }
+
+    public String getSeatNumbers() { return seatNumbers; }
+    public void setSeatNumbers(String seatNumbers) { this.seatNumbers = seatNumbers; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getProcessedAt() { return processedAt; }
+    public void setProcessedAt(LocalDateTime processedAt) { this.processedAt = processedAt; }
+
+    public LocalDateTime getLeasedUntil() { return leasedUntil; }
+    public void setLeasedUntil(LocalDateTime leasedUntil) { this.leasedUntil = leasedUntil; }
+}
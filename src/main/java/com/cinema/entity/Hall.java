@@ -0,0 +1,51 @@
+package com.cinema.entity;
+
+import jakarta.persistence.*;
+
+// Seat-layout template of a screen, stored once and shared by every showtime
+// whose hall name matches. Aisles and premium rows are comma-separated numbers.
+@Entity
+@Table(name = "halls")
+public class Hall {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private String name;
+
+    @Column(nullable = false)
+    private Integer rowCount;
+
+    @Column(nullable = false)
+    private Integer seatsPerRow;
+
+    // Columns followed by an aisle, e.g. "4,12"
+    private String aisleAfterColumns;
+
+    // Rows sold as premium seats, e.g. "9,10"
+    private String premiumRows;
+
+    public Hall() {}
+
+    public Hall(String name, Integer rowCount, Integer seatsPerRow, String aisleAfterColumns, String premiumRows) {
+        this.name = name;
+        this.rowCount = rowCount;
+        this.seatsPerRow = seatsPerRow;
+        this.aisleAfterColumns = aisleAfterColumns;
+        this.premiumRows = premiumRows;
+    }
+
+    // --- Getters & Setters ---
+    public Long getId() { return id; }
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    public Integer getRowCount() { return rowCount; }
+    public void setRowCount(Integer rowCount) { this.rowCount = rowCount; }
+    public Integer getSeatsPerRow() { return seatsPerRow; }
+    public void setSeatsPerRow(Integer seatsPerRow) { this.seatsPerRow = seatsPerRow; }
+    public String getAisleAfterColumns() { return aisleAfterColumns; }
+    public void setAisleAfterColumns(String aisleAfterColumns) { this.aisleAfterColumns = aisleAfterColumns; }
+    public String getPremiumRows() { return premiumRows; }
+    public void setPremiumRows(String premiumRows) { this.premiumRows = premiumRows; }
+}
@@ -0,0 +1,63 @@
+package com.cinema.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Durable side of the booking idempotency keys: which booking a client key
+// produced, written in the same transaction as the booking change itself
+@Entity
+@Table(name = "idempotency_keys",
+       uniqueConstraints = @UniqueConstraint(name = "uk_idempotency_user_operation_key",
+                                             columnNames = {"user_id", "operation", "idempotency_key"}),
+       indexes = @Index(name = "idx_idempotency_created_at", columnList = "created_at"))
+public class IdempotencyRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Operation operation;
+
+    @Column(nullable = false, length = 100)
+    private String idempotencyKey;
+
+    // SHA-256 of the request parameters, so a key reused for another request is caught
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(nullable = false)
+    private Long bookingId;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    public enum Operation {
+        INITIATE,
+        CONFIRM
+    }
+
+    public IdempotencyRecord() {}
+
+    public IdempotencyRecord(Long userId, Operation operation, String idempotencyKey,
+                             String requestHash, Long bookingId) {
+        this.userId = userId;
+        this.operation = operation;
+        this.idempotencyKey = idempotencyKey;
+        this.requestHash = requestHash;
+        this.bookingId = bookingId;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public Long getId() { return id; }
+    public Long getUserId() { return userId; }
+    public Operation getOperation() { return operation; }
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public String getRequestHash() { return requestHash; }
+    public Long getBookingId() { return bookingId; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
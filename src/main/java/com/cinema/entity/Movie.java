@@ -10,11 +10,16 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "movies")
+@Table(name = "movies",
+       indexes = {
+           @Index(name = "idx_movies_active_genre", columnList = "is_active, genre"),
+           @Index(name = "idx_movies_genre", columnList = "genre")
+       })
 public class Movie {
 
     @Id
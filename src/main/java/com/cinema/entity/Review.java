@@ -4,7 +4,11 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reviews")
+@Table(name = "reviews",
+       indexes = {
+           @Index(name = "idx_reviews_movie_user", columnList = "movie_id, user_id"),
+           @Index(name = "idx_reviews_user", columnList = "user_id")
+       })
 public class Review {
 
     @Id
@@ -1,14 +1,21 @@
 package com.cinema.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
 // STATE PATTERN
 @Entity
-@Table(name = "seats")
+@Table(name = "seats",
+       indexes = {
+           @Index(name = "idx_seats_showtime_status", columnList = "showtime_id, status"),
+           @Index(name = "idx_seats_showtime_row_column", columnList = "showtime_id, row_number, column_number")
+       })
 public class Seat {
 
+    // Pooled sequence so seat provisioning can use JDBC batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seat_seq")
+    @SequenceGenerator(name = "seat_seq", sequenceName = "seats_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -32,11 +39,24 @@ public class Seat {
     @JoinColumn(name = "booking_id")
     private Booking booking;
 
+    // Bumped by every status change, including the bulk updates in SeatRepository
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
     // STATE PATTERN
     public enum SeatStatus {
         AVAILABLE,
         RESERVED,
-        SOLD
+        SOLD;
+
+        public boolean canMoveTo(SeatStatus target) {
+            return switch (target) {
+                case RESERVED -> this == AVAILABLE;
+                case SOLD, AVAILABLE -> this != SOLD;
+            };
+        }
     }
 
     public Seat() {}
@@ -116,8 +136,12 @@ public class Seat {
         this.booking = booking;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
     public void reserveSeat() {
-        if (this.status == SeatStatus.AVAILABLE) {
+        if (this.status.canMoveTo(SeatStatus.RESERVED)) {
             this.status = SeatStatus.RESERVED;
         } else {
             throw new IllegalStateException("Cannot reserve seat with status: " + this.status);
@@ -125,7 +149,7 @@ public class Seat {
     }
 
     public void confirmSeat() {
-        if (this.status == SeatStatus.RESERVED || this.status == SeatStatus.AVAILABLE) {
+        if (this.status.canMoveTo(SeatStatus.SOLD)) {
             this.status = SeatStatus.SOLD;
         } else {
             throw new IllegalStateException("Cannot confirm seat with status: " + this.status);
@@ -133,7 +157,7 @@ public class Seat {
     }
 
     public void releaseSeat() {
-        if (this.status != SeatStatus.SOLD) {
+        if (this.status.canMoveTo(SeatStatus.AVAILABLE)) {
             this.status = SeatStatus.AVAILABLE;
             this.booking = null;
         } else {
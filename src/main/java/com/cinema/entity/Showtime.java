@@ -4,6 +4,11 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(name = "showtime",
+       indexes = {
+           @Index(name = "idx_showtime_show_time", columnList = "show_time, available_seats"),
+           @Index(name = "idx_showtime_movie_show_time", columnList = "movie_id, show_time")
+       })
 public class Showtime {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
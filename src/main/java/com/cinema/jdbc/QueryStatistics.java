@@ -0,0 +1,160 @@
+package com.cinema.jdbc;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Aggregates JDBC statements by normalized SQL: literals and IN lists are folded
+// so every execution of a repository finder lands on the same entry. The number
+// of distinct statements is capped; past it new shapes are counted as overflow.
+@Component
+public class QueryStatistics {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+
+    private final Map<String, StatementStats> byStatement = new ConcurrentHashMap<>();
+    private final Map<String, String> normalized = new ConcurrentHashMap<>();
+    private final Deque<NPlusOne> nPlusOnes = new ArrayDeque<>();
+    private final LongAdder overflow = new LongAdder();
+
+    @Value("${cinema.jdbc.max-tracked-statements:1000}")
+    private int maxTrackedStatements;
+
+    @Value("${cinema.jdbc.n-plus-one-history:100}")
+    private int nPlusOneHistory;
+
+    public String normalize(String sql) {
+        String cached = normalized.get(sql);
+        if (cached != null) {
+            return cached;
+        }
+        String result = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        result = STRING_LITERAL.matcher(result).replaceAll("?");
+        result = NUMBER_LITERAL.matcher(result).replaceAll("?");
+        result = IN_LIST.matcher(result).replaceAll("in (?)");
+        if (normalized.size() < maxTrackedStatements * 4) {
+            normalized.put(sql, result);
+        }
+        return result;
+    }
+
+    public void record(String statement, long nanos, long rows, boolean slow) {
+        StatementStats stats = statsFor(statement);
+        if (stats == null) {
+            overflow.increment();
+            return;
+        }
+        stats.executions.increment();
+        stats.totalNanos.add(nanos);
+        stats.maxNanos.accumulateAndGet(nanos, Math::max);
+        stats.rows.add(rows);
+        if (slow) {
+            stats.slowExecutions.increment();
+        }
+    }
+
+    // Rows read from a result set arrive after the statement itself was recorded
+    public void addRows(String statement, long rows) {
+        StatementStats stats = byStatement.get(statement);
+        if (stats != null) {
+            stats.rows.add(rows);
+        }
+    }
+
+    public synchronized void recordNPlusOne(String request, String statement, int executions) {
+        if (nPlusOnes.size() >= nPlusOneHistory) {
+            nPlusOnes.removeFirst();
+        }
+        nPlusOnes.addLast(new NPlusOne(request, statement, executions, System.currentTimeMillis()));
+    }
+
+    public List<StatementStats> slowest(int limit) {
+        return byStatement.values().stream()
+                .sorted(Comparator.comparingLong(StatementStats::getMeanNanos).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public synchronized List<NPlusOne> getNPlusOnes() {
+        return List.copyOf(nPlusOnes);
+    }
+
+    public int getTrackedStatements() {
+        return byStatement.size();
+    }
+
+    public long getOverflow() {
+        return overflow.sum();
+    }
+
+    public synchronized void reset() {
+        byStatement.clear();
+        nPlusOnes.clear();
+        overflow.reset();
+    }
+
+    private StatementStats statsFor(String statement) {
+        StatementStats stats = byStatement.get(statement);
+        if (stats != null || byStatement.size() >= maxTrackedStatements) {
+            return stats;
+        }
+        return byStatement.computeIfAbsent(statement, StatementStats::new);
+    }
+
+    public static final class StatementStats {
+        private final String statement;
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder slowExecutions = new LongAdder();
+
+        private StatementStats(String statement) {
+            this.statement = statement;
+        }
+
+        public String getStatement() { return statement; }
+        public long getExecutions() { return executions.sum(); }
+        public long getRows() { return rows.sum(); }
+        public long getSlowExecutions() { return slowExecutions.sum(); }
+        public double getTotalMillis() { return totalNanos.sum() / (double) TimeUnit.MILLISECONDS.toNanos(1); }
+        public double getMaxMillis() { return maxNanos.get() / (double) TimeUnit.MILLISECONDS.toNanos(1); }
+
+        public long getMeanNanos() {
+            long count = executions.sum();
+            return count == 0 ? 0 : totalNanos.sum() / count;
+        }
+    }
+
+    public static final class NPlusOne {
+        private final String request;
+        private final String statement;
+        private final int executions;
+        private final long detectedAt;
+
+        private NPlusOne(String request, String statement, int executions, long detectedAt) {
+            this.request = request;
+            this.statement = statement;
+            this.executions = executions;
+            this.detectedAt = detectedAt;
+        }
+
+        public String getRequest() { return request; }
+        public String getStatement() { return statement; }
+        public int getExecutions() { return executions; }
+        public long getDetectedAt() { return detectedAt; }
+    }
+}
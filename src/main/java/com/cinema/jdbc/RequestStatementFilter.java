@@ -0,0 +1,101 @@
+package com.cinema.jdbc;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Counts the statements each HTTP request runs on its own thread. A select that
+// repeats at least cinema.jdbc.n-plus-one-threshold times within one request is
+// reported as an N+1 suspect, keyed by the handler's URL pattern. Ordered ahead
+// of the security chain so the user lookup on login is counted too.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RequestStatementFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestStatementFilter.class);
+
+    @Autowired
+    private StatementMetricsListener listener;
+
+    @Autowired
+    private QueryStatistics statistics;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${cinema.jdbc.n-plus-one-threshold:10}")
+    private int nPlusOneThreshold;
+
+    private DistributionSummary statementsPerRequest;
+    private Counter nPlusOneCounter;
+
+    @PostConstruct
+    public void initMetrics() {
+        statementsPerRequest = DistributionSummary.builder("cinema.jdbc.statements.per_request")
+                .description("JDBC statements executed by one HTTP request")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        nPlusOneCounter = Counter.builder("cinema.jdbc.n_plus_one")
+                .description("Requests that repeated one select past the N+1 threshold")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestStatements statements = listener.beginRequest();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            listener.endRequest();
+            if (statements.getTotal() > 0) {
+                statementsPerRequest.record(statements.getTotal());
+                detectNPlusOne(request, statements);
+            }
+        }
+    }
+
+    private void detectNPlusOne(HttpServletRequest request, RequestStatements statements) {
+        boolean found = false;
+        for (Map.Entry<String, int[]> entry : statements.getExecutions().entrySet()) {
+            int executions = entry.getValue()[0];
+            if (executions < nPlusOneThreshold || !isSelect(entry.getKey())) {
+                continue;
+            }
+            String handler = request.getMethod() + " " + handlerPattern(request);
+            log.warn("Possible N+1 in {}: {} executions of {}", handler, executions, entry.getKey());
+            statistics.recordNPlusOne(handler, entry.getKey(), executions);
+            found = true;
+        }
+        if (found) {
+            nPlusOneCounter.increment();
+        }
+    }
+
+    private static String handlerPattern(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : request.getRequestURI();
+    }
+
+    private static boolean isSelect(String statement) {
+        return statement.regionMatches(true, 0, "select", 0, 6);
+    }
+}
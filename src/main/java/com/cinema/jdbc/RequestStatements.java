@@ -0,0 +1,25 @@
+package com.cinema.jdbc;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Statements executed on one request thread, keyed by normalized SQL. Only ever
+// touched by that thread, so it needs no synchronization.
+public class RequestStatements {
+
+    private final Map<String, int[]> executions = new HashMap<>();
+    private int total;
+
+    void add(String statement) {
+        executions.computeIfAbsent(statement, s -> new int[1])[0]++;
+        total++;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public Map<String, int[]> getExecutions() {
+        return executions;
+    }
+}
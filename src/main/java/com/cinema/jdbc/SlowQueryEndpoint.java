@@ -0,0 +1,67 @@
+package com.cinema.jdbc;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+// /actuator/slowqueries: the normalized statements with the highest mean latency
+// and the most recent N+1 suspects. ?limit=n overrides the default list size;
+// DELETE clears the statistics, e.g. before a load test.
+@Component
+@Endpoint(id = "slowqueries")
+public class SlowQueryEndpoint {
+
+    @Autowired
+    private QueryStatistics statistics;
+
+    @Value("${cinema.jdbc.top-n:20}")
+    private int defaultLimit;
+
+    @ReadOperation
+    public Map<String, Object> slowQueries(@Nullable Integer limit) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("trackedStatements", statistics.getTrackedStatements());
+        report.put("untrackedExecutions", statistics.getOverflow());
+        report.put("slowest", statistics.slowest(limit != null ? limit : defaultLimit).stream()
+                .map(SlowQueryEndpoint::describe)
+                .toList());
+        report.put("nPlusOneSuspects", describeNPlusOnes(statistics.getNPlusOnes()));
+        return report;
+    }
+
+    @DeleteOperation
+    public void reset() {
+        statistics.reset();
+    }
+
+    private static Map<String, Object> describe(QueryStatistics.StatementStats stats) {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("statement", stats.getStatement());
+        details.put("executions", stats.getExecutions());
+        details.put("meanMs", stats.getMeanNanos() / 1_000_000.0);
+        details.put("maxMs", stats.getMaxMillis());
+        details.put("totalMs", stats.getTotalMillis());
+        details.put("rows", stats.getRows());
+        details.put("slowExecutions", stats.getSlowExecutions());
+        return details;
+    }
+
+    private static List<Map<String, Object>> describeNPlusOnes(List<QueryStatistics.NPlusOne> suspects) {
+        return suspects.stream().map(suspect -> {
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("request", suspect.getRequest());
+            details.put("statement", suspect.getStatement());
+            details.put("executions", suspect.getExecutions());
+            details.put("detectedAt", suspect.getDetectedAt());
+            return details;
+        }).toList();
+    }
+}
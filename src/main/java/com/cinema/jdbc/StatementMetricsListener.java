@@ -0,0 +1,178 @@
+package com.cinema.jdbc;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+// Sees every statement that goes through the proxied datasource. Latency lands in
+// the cinema.jdbc.statement timer (by statement type) and in QueryStatistics (by
+// normalized SQL). Update counts come from the execution result; rows read are
+// counted as ResultSet.next() calls and charged to the last select of the thread,
+// which is how Hibernate consumes results.
+@Component
+public class StatementMetricsListener implements QueryExecutionListener, MethodExecutionListener {
+
+    private enum StatementType {
+        SELECT,
+        INSERT,
+        UPDATE,
+        DELETE,
+        OTHER
+    }
+
+    private final ThreadLocal<long[]> startedAt = ThreadLocal.withInitial(() -> new long[1]);
+    private final ThreadLocal<String[]> lastSelect = ThreadLocal.withInitial(() -> new String[1]);
+    private final ThreadLocal<RequestStatements> currentRequest = new ThreadLocal<>();
+
+    @Autowired
+    private QueryStatistics statistics;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${cinema.logging.slow-query-ms:200}")
+    private long slowQueryMs;
+
+    private long slowQueryNanos;
+    private Timer[] successTimers;
+    private Timer[] failureTimers;
+    private Counter slowCounter;
+
+    @PostConstruct
+    public void init() {
+        slowQueryNanos = TimeUnit.MILLISECONDS.toNanos(slowQueryMs);
+        successTimers = new Timer[StatementType.values().length];
+        failureTimers = new Timer[StatementType.values().length];
+        for (StatementType type : StatementType.values()) {
+            successTimers[type.ordinal()] = timer(type, "success");
+            failureTimers[type.ordinal()] = timer(type, "failure");
+        }
+        slowCounter = Counter.builder("cinema.jdbc.slow")
+                .description("Statements slower than cinema.logging.slow-query-ms")
+                .register(meterRegistry);
+    }
+
+    private Timer timer(StatementType type, String outcome) {
+        return Timer.builder("cinema.jdbc.statement")
+                .description("JDBC statement execution latency")
+                .tag("type", type.name().toLowerCase(Locale.ROOT))
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    // Called by RequestStatementFilter around each HTTP request
+    public RequestStatements beginRequest() {
+        RequestStatements statements = new RequestStatements();
+        currentRequest.set(statements);
+        return statements;
+    }
+
+    public void endRequest() {
+        currentRequest.remove();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        startedAt.get()[0] = System.nanoTime();
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long nanos = System.nanoTime() - startedAt.get()[0];
+        if (queryInfoList.isEmpty()) {
+            return;
+        }
+        boolean slow = nanos >= slowQueryNanos;
+        if (slow) {
+            slowCounter.increment();
+        }
+
+        StatementType type = typeOf(queryInfoList.get(0).getQuery());
+        (execInfo.isSuccess() ? successTimers : failureTimers)[type.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+
+        // A JDBC batch of different statements shares one execution time
+        long share = nanos / queryInfoList.size();
+        long updated = updateCount(execInfo.getResult());
+        RequestStatements request = currentRequest.get();
+        for (QueryInfo queryInfo : queryInfoList) {
+            String statement = statistics.normalize(queryInfo.getQuery());
+            statistics.record(statement, share, type == StatementType.SELECT ? 0 : updated, slow);
+            updated = 0;
+            if (type == StatementType.SELECT) {
+                lastSelect.get()[0] = statement;
+            }
+            if (request != null) {
+                request.add(statement);
+            }
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof ResultSet
+                && Boolean.TRUE.equals(executionContext.getResult())
+                && "next".equals(executionContext.getMethod().getName())) {
+            String statement = lastSelect.get()[0];
+            if (statement != null) {
+                statistics.addRows(statement, 1);
+            }
+        }
+    }
+
+    private static long updateCount(Object result) {
+        if (result instanceof Integer count) {
+            return Math.max(count, 0);
+        }
+        if (result instanceof Long count) {
+            return Math.max(count, 0);
+        }
+        if (result instanceof int[] counts) {
+            long total = 0;
+            for (int count : counts) {
+                total += Math.max(count, 0);
+            }
+            return total;
+        }
+        return 0;
+    }
+
+    private static StatementType typeOf(String sql) {
+        int start = 0;
+        while (start < sql.length() && (Character.isWhitespace(sql.charAt(start)) || sql.charAt(start) == '(')) {
+            start++;
+        }
+        if (sql.regionMatches(true, start, "select", 0, 6) || sql.regionMatches(true, start, "with", 0, 4)) {
+            return StatementType.SELECT;
+        }
+        if (sql.regionMatches(true, start, "insert", 0, 6) || sql.regionMatches(true, start, "merge", 0, 5)) {
+            return StatementType.INSERT;
+        }
+        if (sql.regionMatches(true, start, "update", 0, 6)) {
+            return StatementType.UPDATE;
+        }
+        if (sql.regionMatches(true, start, "delete", 0, 6)) {
+            return StatementType.DELETE;
+        }
+        return StatementType.OTHER;
+    }
+}
@@ -0,0 +1,96 @@
+package com.cinema.observer;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import com.cinema.entity.Booking;
+import com.cinema.entity.BookingOutboxEvent;
+import com.cinema.entity.Seat;
+
+// Immutable copy of the booking fields the observers need, taken while the
+// booking is still attached so delivery never touches lazy associations
+public final class BookingNotification {
+
+    public enum Type {
+        CONFIRMED, CANCELLED
+    }
+
+    private final Long outboxId;
+    private final Type type;
+    private final Long bookingId;
+    private final String email;
+    private final String fullName;
+    private final String movieTitle;
+    private final LocalDateTime showTime;
+    private final Double totalPrice;
+    private final List<String> seatNumbers;
+
+    private BookingNotification(Long outboxId, Type type, Long bookingId, String email, String fullName, String movieTitle,
+                                LocalDateTime showTime, Double totalPrice, List<String> seatNumbers) {
+        this.outboxId = outboxId;
+        this.type = type;
+        this.bookingId = bookingId;
+        this.email = email;
+        this.fullName = fullName;
+        this.movieTitle = movieTitle;
+        this.showTime = showTime;
+        this.totalPrice = totalPrice;
+        this.seatNumbers = seatNumbers;
+    }
+
+    public static BookingNotification of(Booking booking, Type type) {
+        return new BookingNotification(
+            null,
+            type,
+            booking.getId(),
+            booking.getUser().getEmail(),
+            booking.getUser().getFullName(),
+            booking.getMovie().getTitle(),
+            booking.getShowtime().getShowTime(),
+            booking.getTotalPrice(),
+            booking.getSeats().stream().map(Seat::getSeatNumber).toList()
+        );
+    }
+
+    public static BookingNotification of(BookingOutboxEvent event) {
+        List<String> seatNumbers = event.getSeatNumbers() == null || event.getSeatNumbers().isEmpty()
+                ? List.of()
+                : Arrays.asList(event.getSeatNumbers().split(","));
+        return new BookingNotification(
+            event.getId(),
+            Type.valueOf(event.getEventType().name()),
+            event.getBookingId(),
+            event.getEmail(),
+            event.getFullName(),
+            event.getMovieTitle(),
+            event.getShowTime(),
+            event.getTotalPrice(),
+            List.copyOf(seatNumbers)
+        );
+    }
+
+    public BookingOutboxEvent toOutboxEvent() {
+        BookingOutboxEvent event = new BookingOutboxEvent();
+        event.setBookingId(bookingId);
+        event.setEventType(BookingOutboxEvent.EventType.valueOf(type.name()));
+        event.setEmail(email);
+        event.setFullName(fullName);
+        event.setMovieTitle(movieTitle);
+        event.setShowTime(showTime);
+        event.setTotalPrice(totalPrice);
+        event.setSeatNumbers(String.join(",", seatNumbers));
+        return event;
+    }
+
+    // Null unless the notification was read from booking_outbox
+    public Long getOutboxId() { return outboxId; }
+    public Type getType() { return type; }
+    public Long getBookingId() { return bookingId; }
+    public String getEmail() { return email; }
+    public String getFullName() { return fullName; }
+    public String getMovieTitle() { return movieTitle; }
+    public LocalDateTime getShowTime() { return showTime; }
+    public Double getTotalPrice() { return totalPrice; }
+    public List<String> getSeatNumbers() { return seatNumbers; }
+}
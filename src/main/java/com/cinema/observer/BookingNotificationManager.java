@@ -1,25 +1,47 @@
 package com.cinema.observer;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import com.cinema.entity.Booking;
+import com.cinema.repository.BookingOutboxRepository;
+
+import jakarta.annotation.PostConstruct;
 
 // OBSERVER PATTERN
+// Observers are not called on the booking thread: notifications are written to
+// booking_outbox in the caller's transaction and delivered by BookingOutboxRelay.
 @Component
 public class BookingNotificationManager {
 
     private static final Logger log = LoggerFactory.getLogger(BookingNotificationManager.class);
 
-    private final List<BookingObserver> observers = new ArrayList<>();
+    private final CopyOnWriteArrayList<BookingObserver> observers = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private NotificationDispatcher dispatcher;
+
+    @Autowired
+    private BookingOutboxRepository outboxRepository;
+
+    // The observer beans, registered before the dispatcher starts so the relay
+    // never drains the outbox into an empty observer list
+    @Autowired
+    private List<BookingObserver> observerBeans;
+
+    @PostConstruct
+    public void startDispatcher() {
+        observerBeans.forEach(this::registerObserver);
+        dispatcher.start(observers);
+    }
 
     public void registerObserver(BookingObserver observer) {
-        if (!observers.contains(observer)) {
-            observers.add(observer);
+        if (observers.addIfAbsent(observer)) {
             log.info("Observer registered: {}", observer.getClass().getSimpleName());
         }
     }
@@ -29,20 +51,21 @@ public class BookingNotificationManager {
     }
 
     public void notifyBookingConfirmed(Booking booking) {
-        log.info("Notifying {} observers about booking confirmation", observers.size());
-        for (BookingObserver observer : observers) {
-            observer.onBookingConfirmed(booking);
-        }
+        log.info("Recording booking confirmation for {} observers in outbox", observers.size());
+        publish(BookingNotification.of(booking, BookingNotification.Type.CONFIRMED));
     }
 
     public void notifyBookingCancelled(Booking booking) {
-        log.info("Notifying {} observers about booking cancellation", observers.size());
-        for (BookingObserver observer : observers) {
-            observer.onBookingCancelled(booking);
-        }
+        log.info("Recording booking cancellation for {} observers in outbox", observers.size());
+        publish(BookingNotification.of(booking, BookingNotification.Type.CANCELLED));
     }
 
     public int getObserverCount() {
         return observers.size();
     }
-}
\ No newline at end of file
+
+    // Joins the booking transaction, so a rolled-back booking never notifies anyone
+    private void publish(BookingNotification notification) {
+        outboxRepository.save(notification.toOutboxEvent());
+    }
+}
@@ -1,10 +1,22 @@
 package com.cinema.observer;
 
-import com.cinema.entity.Booking;
+import java.util.List;
 
 // OBSERVER PATTERN
 public interface BookingObserver {
-    void onBookingConfirmed(Booking booking);
+    void onBookingConfirmed(BookingNotification notification);
 
-    void onBookingCancelled(Booking booking);
+    void onBookingCancelled(BookingNotification notification);
+
+    // Called by NotificationDispatcher once per flush window; observers that can
+    // send in bulk override this
+    default void onBatch(List<BookingNotification> batch) {
+        for (BookingNotification notification : batch) {
+            if (notification.getType() == BookingNotification.Type.CONFIRMED) {
+                onBookingConfirmed(notification);
+            } else {
+                onBookingCancelled(notification);
+            }
+        }
+    }
 }
@@ -0,0 +1,123 @@
+package com.cinema.observer;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.cinema.entity.BookingOutboxEvent;
+import com.cinema.repository.BookingOutboxRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+// Streams booking_outbox rows to NotificationDispatcher in id order. Each poll
+// leases the rows it hands over; a row is marked processed only after every
+// observer has handled it, so delivery is at-least-once: a row that was
+// dead-lettered or in flight during a crash is relayed again once its lease
+// has run out, and rows committed out of id order are never skipped.
+@Component
+public class BookingOutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingOutboxRelay.class);
+
+    @Autowired
+    private BookingOutboxRepository outboxRepository;
+
+    @Autowired
+    private NotificationDispatcher dispatcher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${cinema.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${cinema.outbox.retention:7d}")
+    private Duration retention;
+
+    // Longer than the dispatcher needs for a batch including its retries
+    @Value("${cinema.outbox.lease:5m}")
+    private Duration lease;
+
+    private Counter relayedCounter;
+
+    @PostConstruct
+    public void init() {
+        relayedCounter = Counter.builder("cinema.outbox.relayed")
+                .description("Booking outbox events delivered to all observers")
+                .register(meterRegistry);
+        dispatcher.onDelivered(this::acknowledge);
+    }
+
+    @Scheduled(fixedDelayString = "${cinema.outbox.poll-interval-ms:200}")
+    public void relay() {
+        int limit = Math.min(batchSize, dispatcher.getRemainingCapacity());
+        if (limit == 0 || !dispatcher.hasObservers()) {
+            return;
+        }
+        List<BookingOutboxEvent> events = transactionTemplate.execute(tx -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<BookingOutboxEvent> due = outboxRepository.findRelayable(now, PageRequest.of(0, limit));
+            if (!due.isEmpty()) {
+                outboxRepository.lease(due.stream().map(BookingOutboxEvent::getId).toList(), now.plus(lease));
+            }
+            return due;
+        });
+        if (events == null || events.isEmpty()) {
+            return;
+        }
+
+        int published = 0;
+        while (published < events.size() && dispatcher.publish(BookingNotification.of(events.get(published)))) {
+            published++;
+        }
+        if (published < events.size()) {
+            // Queue full: hand the rest back so the next poll picks them up
+            List<Long> unpublished = events.subList(published, events.size()).stream()
+                    .map(BookingOutboxEvent::getId)
+                    .toList();
+            transactionTemplate.executeWithoutResult(tx -> outboxRepository.lease(unpublished, null));
+        }
+        log.debug("Relayed {} of {} leased outbox events", published, events.size());
+    }
+
+    public double getRelayedCount() {
+        return relayedCounter.count();
+    }
+
+    public long getPendingCount() {
+        return outboxRepository.countByProcessedAtIsNull();
+    }
+
+    @Scheduled(cron = "${cinema.outbox.cleanup-cron:0 0 * * * *}")
+    public void purgeProcessed() {
+        Integer deleted = transactionTemplate.execute(tx ->
+                outboxRepository.deleteProcessedBefore(LocalDateTime.now().minus(retention)));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} processed outbox events", deleted);
+        }
+    }
+
+    private void acknowledge(List<BookingNotification> delivered) {
+        List<Long> ids = delivered.stream().map(BookingNotification::getOutboxId).filter(Objects::nonNull).toList();
+        if (ids.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(tx -> outboxRepository.markProcessed(ids, LocalDateTime.now()));
+        relayedCounter.increment(ids.size());
+    }
+}
@@ -1,40 +1,70 @@
 package com.cinema.observer;
 
+import java.util.List;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Component;
 
-import com.cinema.entity.Booking;
-
 // OBSERVER PATTERN
 @Component
 public class EmailNotificationObserver implements BookingObserver {
 
     private static final Logger log = LoggerFactory.getLogger(EmailNotificationObserver.class);
 
+    // Only present when spring.mail.host is configured; otherwise emails are logged
+    @Autowired
+    private ObjectProvider<JavaMailSender> mailSender;
+
+    @Value("${cinema.notification.mail-from:noreply@cinema.local}")
+    private String mailFrom;
+
+    @Override
+    public void onBookingConfirmed(BookingNotification notification) {
+        onBatch(List.of(notification));
+    }
+
     @Override
-    public void onBookingConfirmed(Booking booking) {
-        log.info("Sending confirmation email to: {}", booking.getUser().getEmail());
-        
-        String subject = "Booking Confirmed - " + booking.getMovie().getTitle();
-        String body = buildConfirmationEmail(booking);
-        
-        sendEmail(booking.getUser().getEmail(), subject, body);
-        log.info("Confirmation email sent successfully");
+    public void onBookingCancelled(BookingNotification notification) {
+        onBatch(List.of(notification));
     }
 
+    // One SMTP session for the whole flush window
     @Override
-    public void onBookingCancelled(Booking booking) {
-        log.info("Sending cancellation email to: {}", booking.getUser().getEmail());
-        
-        String subject = "Booking Cancelled - " + booking.getMovie().getTitle();
-        String body = buildCancellationEmail(booking);
-        
-        sendEmail(booking.getUser().getEmail(), subject, body);
-        log.info("Cancellation email sent successfully");
+    public void onBatch(List<BookingNotification> batch) {
+        SimpleMailMessage[] messages = batch.stream().map(this::buildMessage).toArray(SimpleMailMessage[]::new);
+
+        JavaMailSender sender = mailSender.getIfAvailable();
+        if (sender != null) {
+            sender.send(messages);
+        } else {
+            for (SimpleMailMessage message : messages) {
+                logEmail(message);
+            }
+        }
+        log.info("{} email(s) sent successfully", messages.length);
+    }
+
+    private SimpleMailMessage buildMessage(BookingNotification notification) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(mailFrom);
+        message.setTo(notification.getEmail());
+        if (notification.getType() == BookingNotification.Type.CONFIRMED) {
+            message.setSubject("Booking Confirmed - " + notification.getMovieTitle());
+            message.setText(buildConfirmationEmail(notification));
+        } else {
+            message.setSubject("Booking Cancelled - " + notification.getMovieTitle());
+            message.setText(buildCancellationEmail(notification));
+        }
+        return message;
     }
 
-    private String buildConfirmationEmail(Booking booking) {
+    private String buildConfirmationEmail(BookingNotification notification) {
         return String.format(
             "Dear %s,\n\n" +
             "Your booking for %s has been confirmed!\n" +
@@ -42,29 +72,29 @@ public class EmailNotificationObserver implements BookingObserver {
             "Total Price: Rs. %.2f\n" +
             "Seats: %s\n\n" +
             "Thank you for booking with us!",
-            booking.getUser().getFullName(),
-            booking.getMovie().getTitle(),
-            booking.getShowtime().getShowTime(),
-            booking.getTotalPrice(),
-            booking.getSeats().stream().map(s -> s.getSeatNumber()).toList()
+            notification.getFullName(),
+            notification.getMovieTitle(),
+            notification.getShowTime(),
+            notification.getTotalPrice(),
+            notification.getSeatNumbers()
         );
     }
 
-    private String buildCancellationEmail(Booking booking) {
+    private String buildCancellationEmail(BookingNotification notification) {
         return String.format(
             "Dear %s,\n\n" +
             "Your booking for %s has been cancelled.\n" +
             "Refund will be processed within 3-5 business days.\n\n" +
             "Thank you!",
-            booking.getUser().getFullName(),
-            booking.getMovie().getTitle()
+            notification.getFullName(),
+            notification.getMovieTitle()
         );
     }
 
-    private void sendEmail(String to, String subject, String body) {
+    private void logEmail(SimpleMailMessage message) {
         log.info("=== EMAIL SENT ===");
-        log.info("To: {}", to);
-        log.info("Subject: {}", subject);
-        log.info("Body: {}", body);
+        log.info("To: {}", String.join(", ", message.getTo()));
+        log.info("Subject: {}", message.getSubject());
+        log.info("Body: {}", message.getText());
     }
-}
\ No newline at end of file
+}
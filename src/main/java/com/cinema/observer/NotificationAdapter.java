@@ -3,6 +3,7 @@ package com.cinema.observer;
 import com.cinema.entity.Booking;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 // ADAPTER PATTERN
@@ -11,30 +12,31 @@ public class NotificationAdapter {
 
     private static final Logger log = LoggerFactory.getLogger(NotificationAdapter.class);
 
-    private final EmailNotificationObserver emailObserver;
-    private final SmsNotificationObserver smsObserver;
+    @Autowired
+    private EmailNotificationObserver emailObserver;
 
-    public NotificationAdapter() {
-        this.emailObserver = new EmailNotificationObserver();
-        this.smsObserver = new SmsNotificationObserver();
-    }
+    @Autowired
+    private SmsNotificationObserver smsObserver;
 
     public void sendNotification(Booking booking, String notificationType) {
         log.info("Adapter: Sending {} notification for booking: {}", notificationType, booking.getId());
 
         switch (notificationType.toUpperCase()) {
             case "CONFIRMED" -> {
-                emailObserver.onBookingConfirmed(booking);
-                smsObserver.onBookingConfirmed(booking);
+                BookingNotification notification = BookingNotification.of(booking, BookingNotification.Type.CONFIRMED);
+                emailObserver.onBookingConfirmed(notification);
+                smsObserver.onBookingConfirmed(notification);
             }
             case "CANCELLED" -> {
-                emailObserver.onBookingCancelled(booking);
-                smsObserver.onBookingCancelled(booking);
+                BookingNotification notification = BookingNotification.of(booking, BookingNotification.Type.CANCELLED);
+                emailObserver.onBookingCancelled(notification);
+                smsObserver.onBookingCancelled(notification);
             }
             default -> {
                 log.warn("Unknown notification type: {}", notificationType);
-                emailObserver.onBookingConfirmed(booking);
-                smsObserver.onBookingConfirmed(booking);
+                BookingNotification notification = BookingNotification.of(booking, BookingNotification.Type.CONFIRMED);
+                emailObserver.onBookingConfirmed(notification);
+                smsObserver.onBookingConfirmed(notification);
             }
         }
     }
@@ -42,18 +44,18 @@ public class NotificationAdapter {
     public void sendViaEmail(Booking booking, String notificationType) {
         log.info("Adapter: Sending email notification for booking: {}", booking.getId());
         if ("CONFIRMED".equalsIgnoreCase(notificationType)) {
-            emailObserver.onBookingConfirmed(booking);
+            emailObserver.onBookingConfirmed(BookingNotification.of(booking, BookingNotification.Type.CONFIRMED));
         } else if ("CANCELLED".equalsIgnoreCase(notificationType)) {
-            emailObserver.onBookingCancelled(booking);
+            emailObserver.onBookingCancelled(BookingNotification.of(booking, BookingNotification.Type.CANCELLED));
         }
     }
 
     public void sendViaSms(Booking booking, String notificationType) {
         log.info("Adapter: Sending SMS notification for booking: {}", booking.getId());
         if ("CONFIRMED".equalsIgnoreCase(notificationType)) {
-            smsObserver.onBookingConfirmed(booking);
+            smsObserver.onBookingConfirmed(BookingNotification.of(booking, BookingNotification.Type.CONFIRMED));
         } else if ("CANCELLED".equalsIgnoreCase(notificationType)) {
-            smsObserver.onBookingCancelled(booking);
+            smsObserver.onBookingCancelled(BookingNotification.of(booking, BookingNotification.Type.CANCELLED));
         }
     }
 }
@@ -0,0 +1,295 @@
+package com.cinema.observer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+// Bounded in-process queue between the outbox relay and the observers. Worker
+// threads drain it in batches per flush window, retry failed deliveries with
+// backoff and park what still fails in a bounded dead-letter store, one letter
+// per failing observer. Fully delivered notifications are reported to the
+// delivery listener. Each observer's share of a batch, retries included, is
+// timed as cinema.notification.dispatch. Dead letters are listed and redelivered
+// through /actuator/notifications.
+@Component
+public class NotificationDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    @Autowired
+    @Qualifier("notificationExecutor")
+    private Executor notificationExecutor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${cinema.notification.workers:2}")
+    private int workers;
+
+    @Value("${cinema.notification.batch-size:100}")
+    private int batchSize;
+
+    @Value("${cinema.notification.flush-window-ms:250}")
+    private long flushWindowMs;
+
+    @Value("${cinema.notification.publish-timeout-ms:50}")
+    private long publishTimeoutMs;
+
+    @Value("${cinema.notification.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${cinema.notification.retry-backoff-ms:500}")
+    private long retryBackoffMs;
+
+    @Value("${cinema.notification.dead-letter-capacity:1000}")
+    private int deadLetterCapacity;
+
+    private final BlockingQueue<Delivery> queue;
+    private final Deque<DeadLetter> deadLetters = new ArrayDeque<>();
+    private volatile List<BookingObserver> observers = List.of();
+    private volatile Consumer<List<BookingNotification>> deliveryListener = delivered -> { };
+    private volatile boolean running;
+
+    public NotificationDispatcher(@Value("${cinema.notification.queue-capacity:10000}") int queueCapacity) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    // The list is read on every batch, so later registrations are picked up
+    public synchronized void start(List<BookingObserver> observers) {
+        this.observers = observers;
+        if (running) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < workers; i++) {
+            notificationExecutor.execute(this::drainLoop);
+        }
+        log.info("Notification dispatcher started with {} workers", workers);
+    }
+
+    public void onDelivered(Consumer<List<BookingNotification>> listener) {
+        this.deliveryListener = listener;
+    }
+
+    // Backpressure: waits briefly for space, then dead-letters instead of blocking the caller
+    public boolean publish(BookingNotification notification) {
+        try {
+            if (queue.offer(new Delivery(notification, null), publishTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.warn("Notification queue full, dead-lettering booking {}", notification.getBookingId());
+        deadLetter(null, List.of(notification), "queue full");
+        return false;
+    }
+
+    public boolean hasObservers() {
+        return !observers.isEmpty();
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    public int getRemainingCapacity() {
+        return queue.remainingCapacity();
+    }
+
+    public synchronized List<DeadLetter> getDeadLetters() {
+        return List.copyOf(deadLetters);
+    }
+
+    // Puts dead letters back on the queue, e.g. once the mail server is reachable
+    // again. Each letter goes only to the observer that failed it, or to every
+    // observer if it never reached one; delivery is at-least-once.
+    public int redeliverDeadLetters() {
+        List<DeadLetter> letters;
+        synchronized (this) {
+            letters = List.copyOf(deadLetters);
+            deadLetters.clear();
+        }
+        int requeued = 0;
+        for (DeadLetter letter : letters) {
+            if (queue.offer(new Delivery(letter.getNotification(), letter.getObserver()))) {
+                requeued++;
+            } else {
+                deadLetter(letter.getObserver(), List.of(letter.getNotification()), letter.getReason());
+            }
+        }
+        log.info("Requeued {} of {} dead-lettered notifications", requeued, letters.size());
+        return requeued;
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+    }
+
+    private void drainLoop() {
+        List<Delivery> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Delivery first = queue.poll(flushWindowMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushWindowMs);
+                while (batch.size() < batchSize) {
+                    if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    Delivery next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                deliver(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                log.error("Notification worker failed: {}", e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // Each observer is retried on its own, so a failing SMS gateway does not resend emails
+    private void deliver(List<Delivery> batch) throws InterruptedException {
+        List<BookingObserver> current = observers;
+        Set<Delivery> reached = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<Delivery> failed = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (BookingObserver observer : current) {
+            List<Delivery> share = batch.stream()
+                    .filter(delivery -> delivery.target == null || delivery.target == observer)
+                    .toList();
+            if (share.isEmpty()) {
+                continue;
+            }
+            reached.addAll(share);
+            List<BookingNotification> notifications = share.stream().map(delivery -> delivery.notification).toList();
+            long start = System.nanoTime();
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    observer.onBatch(notifications);
+                    dispatchTimer(observer, "delivered").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    break;
+                } catch (RuntimeException e) {
+                    if (attempt >= maxAttempts) {
+                        log.error("{} failed {} notifications after {} attempts: {}",
+                                  observer.getClass().getSimpleName(), notifications.size(), attempt, e.getMessage());
+                        deadLetter(observer, notifications, e.getMessage());
+                        dispatchTimer(observer, "dead_lettered").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                        failed.addAll(share);
+                        break;
+                    }
+                    log.warn("{} failed, retrying (attempt {}): {}",
+                             observer.getClass().getSimpleName(), attempt, e.getMessage());
+                    Thread.sleep(retryBackoffMs * attempt);
+                }
+            }
+        }
+
+        List<BookingNotification> delivered = new ArrayList<>(batch.size());
+        for (Delivery delivery : batch) {
+            if (delivery.target != null && !current.contains(delivery.target)) {
+                deadLetter(delivery.target, List.of(delivery.notification), "observer no longer registered");
+            } else if (!reached.contains(delivery)) {
+                // No observer saw it: not acknowledged, so its outbox row is relayed once the lease runs out
+                log.warn("No observer registered for booking {} notification", delivery.notification.getBookingId());
+            } else if (!failed.contains(delivery) && settle(delivery)) {
+                delivered.add(delivery.notification);
+            }
+        }
+        if (!delivered.isEmpty()) {
+            deliveryListener.accept(delivered);
+        }
+    }
+
+    // A notification that reached every observer supersedes its older dead letters; a
+    // redelivery to one observer only completes it once no other observer still owes it
+    private synchronized boolean settle(Delivery delivery) {
+        if (delivery.target == null) {
+            deadLetters.removeIf(letter -> sameEvent(letter.getNotification(), delivery.notification));
+            return true;
+        }
+        return deadLetters.stream().noneMatch(letter -> sameEvent(letter.getNotification(), delivery.notification));
+    }
+
+    private static boolean sameEvent(BookingNotification a, BookingNotification b) {
+        return a == b || (a.getOutboxId() != null && a.getOutboxId().equals(b.getOutboxId()));
+    }
+
+    // Registration is idempotent; observers can be added at runtime so timers are looked up per batch
+    private Timer dispatchTimer(BookingObserver observer, String outcome) {
+        return Timer.builder("cinema.notification.dispatch")
+                .description("Observer delivery latency per notification batch")
+                .tag("observer", observer.getClass().getSimpleName())
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private synchronized void deadLetter(BookingObserver observer, List<BookingNotification> notifications, String reason) {
+        for (BookingNotification notification : notifications) {
+            if (deadLetters.size() >= deadLetterCapacity) {
+                deadLetters.removeFirst();
+            }
+            deadLetters.addLast(new DeadLetter(observer, notification, reason));
+        }
+    }
+
+    // A queued notification and the one observer it is meant for; null means every observer
+    private static final class Delivery {
+        private final BookingNotification notification;
+        private final BookingObserver target;
+
+        private Delivery(BookingNotification notification, BookingObserver target) {
+            this.notification = notification;
+            this.target = target;
+        }
+    }
+
+    public static final class DeadLetter {
+        private final BookingObserver observer;
+        private final BookingNotification notification;
+        private final String reason;
+
+        private DeadLetter(BookingObserver observer, BookingNotification notification, String reason) {
+            this.observer = observer;
+            this.notification = notification;
+            this.reason = reason;
+        }
+
+        // Null when the notification never reached any observer
+        public BookingObserver getObserver() { return observer; }
+        public BookingNotification getNotification() { return notification; }
+        public String getReason() { return reason; }
+    }
+}
@@ -0,0 +1,47 @@
+package com.cinema.observer;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+// /actuator/notifications: dispatcher queue depth and the dead-letter store. A POST
+// puts every dead letter back on the queue for the observer that failed it.
+@Component
+@Endpoint(id = "notifications")
+public class NotificationEndpoint {
+
+    @Autowired
+    private NotificationDispatcher dispatcher;
+
+    @ReadOperation
+    public Map<String, Object> notifications() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("queueSize", dispatcher.getQueueSize());
+        report.put("remainingCapacity", dispatcher.getRemainingCapacity());
+        report.put("deadLetters", dispatcher.getDeadLetters().stream()
+                .map(NotificationEndpoint::describe)
+                .toList());
+        return report;
+    }
+
+    @WriteOperation
+    public Map<String, Object> redeliver() {
+        return Map.of("requeued", dispatcher.redeliverDeadLetters());
+    }
+
+    private static Map<String, Object> describe(NotificationDispatcher.DeadLetter letter) {
+        BookingNotification notification = letter.getNotification();
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("observer", letter.getObserver() != null ? letter.getObserver().getClass().getSimpleName() : null);
+        details.put("outboxId", notification.getOutboxId());
+        details.put("bookingId", notification.getBookingId());
+        details.put("type", notification.getType());
+        details.put("reason", letter.getReason());
+        return details;
+    }
+}
@@ -4,8 +4,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
-import com.cinema.entity.Booking;
-
 // OBSERVER PATTERN
 @Component
 public class SmsNotificationObserver implements BookingObserver {
@@ -13,15 +11,15 @@ public class SmsNotificationObserver implements BookingObserver {
     private static final Logger log = LoggerFactory.getLogger(SmsNotificationObserver.class);
 
     @Override
-    public void onBookingConfirmed(Booking booking) {
+    public void onBookingConfirmed(BookingNotification notification) {
         log.info("Sending confirmation SMS");
         
         String message = String.format(
             "Your booking for %s is confirmed. Showtime: %s. Seats: %s. Price: Rs.%.2f",
-            booking.getMovie().getTitle(),
-            booking.getShowtime().getShowTime(),
-            booking.getSeats().stream().map(s -> s.getSeatNumber()).toList(),
-            booking.getTotalPrice()
+            notification.getMovieTitle(),
+            notification.getShowTime(),
+            notification.getSeatNumbers(),
+            notification.getTotalPrice()
         );
         
         sendSms(message);
@@ -29,12 +27,12 @@ public class SmsNotificationObserver implements BookingObserver {
     }
 
     @Override
-    public void onBookingCancelled(Booking booking) {
+    public void onBookingCancelled(BookingNotification notification) {
         log.info("Sending cancellation SMS");
         
         String message = String.format(
             "Your booking for %s has been cancelled. Refund will be processed soon.",
-            booking.getMovie().getTitle()
+            notification.getMovieTitle()
         );
         
         sendSms(message);
@@ -45,4 +43,4 @@ public class SmsNotificationObserver implements BookingObserver {
         log.info("=== SMS SENT ===");
         log.info("Message: {}", message);
     }
-}
\ No newline at end of file
+}
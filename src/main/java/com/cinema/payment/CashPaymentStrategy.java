@@ -1,16 +1,28 @@
 package com.cinema.payment;
 
+import java.time.Duration;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 // STRATEGY PATTERN
+// Stateless: one instance per application, shared by every Cash payment
 public class CashPaymentStrategy implements PaymentStrategy {
 
     private static final Logger log = LoggerFactory.getLogger(CashPaymentStrategy.class);
 
+    private static final Duration CHARGE_LATENCY = Duration.ofMillis(1000);
+    private static final Duration REFUND_LATENCY = Duration.ofMillis(500);
+
+    private final GatewayClient gateway;
+
+    public CashPaymentStrategy(GatewayClient gateway) {
+        this.gateway = gateway;
+    }
+
     @Override
     public boolean processPayment(Double amount, String transactionDetails) {
-        log.info("Processing Cash payment of amount: {}", amount);
+        log.debug("Processing Cash payment of amount: {}", amount);
         
         if (!validatePaymentDetails(transactionDetails)) {
             log.error("Invalid cash payment details");
@@ -18,12 +30,11 @@ public class CashPaymentStrategy implements PaymentStrategy {
         }
 
         try {
-            log.info("Waiting for cash verification at counter...");
-            Thread.sleep(1000);
-            
-            log.info("Cash payment verified successfully for amount: {}", amount);
-            return true;
+            boolean paid = gateway.exchange(CHARGE_LATENCY);
+            log.debug("Cash payment of amount {} {}", amount, paid ? "succeeded" : "failed");
+            return paid;
         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
             log.error("Cash payment verification interrupted", e);
             return false;
         }
@@ -31,7 +42,6 @@ public class CashPaymentStrategy implements PaymentStrategy {
 
     @Override
     public boolean validatePaymentDetails(String paymentDetails) {
-        log.info("Validating cash payment details");
         return paymentDetails != null && !paymentDetails.isEmpty();
     }
 
@@ -44,10 +54,9 @@ public class CashPaymentStrategy implements PaymentStrategy {
     public boolean refundPayment(Double amount, String transactionId) {
         log.info("Processing Cash refund of amount: {} with transaction ID: {}", amount, transactionId);
         try {
-            Thread.sleep(500);
-            log.info("Cash refund processed successfully");
-            return true;
+            return gateway.exchange(REFUND_LATENCY);
         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
             log.error("Refund processing interrupted", e);
             return false;
         }
@@ -0,0 +1,155 @@
+package com.cinema.payment;
+
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Count-based circuit breaker for one payment gateway. Failed and slow calls over
+// the last windowSize calls open it; after openDuration a few probe calls are let
+// through (half-open) and decide whether it closes again or reopens.
+public class CircuitBreaker {
+
+    private static final Logger log = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String name;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final Duration slowCallThreshold;
+    private final Duration openDuration;
+    private final int halfOpenCalls;
+
+    // Ring buffer of the last windowSize outcomes, true = failed or slow
+    private final boolean[] window;
+    private int next;
+    private int recorded;
+    private int failures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int probesIssued;
+    private int probesSucceeded;
+
+    public CircuitBreaker(String name, int windowSize, int minimumCalls, int failureRateThreshold,
+                          Duration slowCallThreshold, Duration openDuration, int halfOpenCalls) {
+        this.name = name;
+        this.windowSize = windowSize;
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallThreshold = slowCallThreshold;
+        this.openDuration = openDuration;
+        this.halfOpenCalls = halfOpenCalls;
+        this.window = new boolean[windowSize];
+    }
+
+    // Admission check without taking a probe slot, used to fail fast before queueing
+    public synchronized boolean isCallPermitted() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                return openDurationElapsed();
+            default:
+                return probesIssued < halfOpenCalls;
+        }
+    }
+
+    // Must be followed by onResult when true
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN && openDurationElapsed()) {
+            transitionTo(State.HALF_OPEN);
+        }
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                return false;
+            default:
+                if (probesIssued < halfOpenCalls) {
+                    probesIssued++;
+                    return true;
+                }
+                return false;
+        }
+    }
+
+    public synchronized void onResult(boolean success, Duration elapsed) {
+        boolean failed = !success || elapsed.compareTo(slowCallThreshold) > 0;
+        switch (state) {
+            case CLOSED:
+                record(failed);
+                if (recorded >= minimumCalls && failures * 100 >= failureRateThreshold * recorded) {
+                    log.warn("{} gateway circuit opened: {} of the last {} calls failed or were slower than {}",
+                             name, failures, recorded, slowCallThreshold);
+                    transitionTo(State.OPEN);
+                }
+                break;
+            case HALF_OPEN:
+                if (failed) {
+                    log.warn("{} gateway probe failed, circuit reopened", name);
+                    transitionTo(State.OPEN);
+                } else if (++probesSucceeded >= halfOpenCalls) {
+                    log.info("{} gateway recovered, circuit closed", name);
+                    transitionTo(State.CLOSED);
+                }
+                break;
+            default:
+                // Late result of a call admitted before the circuit opened
+                break;
+        }
+    }
+
+    public synchronized State getState() {
+        if (state == State.OPEN && openDurationElapsed()) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    public synchronized double getFailureRate() {
+        return recorded == 0 ? 0.0 : failures * 100.0 / recorded;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private boolean openDurationElapsed() {
+        return System.currentTimeMillis() - openedAt >= openDuration.toMillis();
+    }
+
+    private void record(boolean failed) {
+        if (recorded == windowSize) {
+            if (window[next]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        window[next] = failed;
+        if (failed) {
+            failures++;
+        }
+        next = (next + 1) % windowSize;
+    }
+
+    private void transitionTo(State target) {
+        state = target;
+        probesIssued = 0;
+        probesSucceeded = 0;
+        if (target == State.OPEN) {
+            openedAt = System.currentTimeMillis();
+        } else if (target == State.CLOSED) {
+            next = 0;
+            recorded = 0;
+            failures = 0;
+        }
+    }
+}
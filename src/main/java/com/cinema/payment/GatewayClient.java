@@ -0,0 +1,84 @@
+package com.cinema.payment;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Connection to one payment gateway: a bounded pool of connections and a call
+// timeout. The gateway round trip itself is simulated by waiting for its latency;
+// extra latency and a failure rate can be injected to degrade it locally.
+public class GatewayClient {
+
+    private static final Logger log = LoggerFactory.getLogger(GatewayClient.class);
+
+    private final String name;
+    private final int poolSize;
+    private final Semaphore connections;
+    private final Duration acquireTimeout;
+    private final Duration callTimeout;
+
+    private volatile Duration injectedLatency = Duration.ZERO;
+    private volatile double injectedFailureRate;
+
+    public GatewayClient(String name, int poolSize, Duration acquireTimeout, Duration callTimeout) {
+        this.name = name;
+        this.poolSize = poolSize;
+        this.connections = new Semaphore(poolSize, true);
+        this.acquireTimeout = acquireTimeout;
+        this.callTimeout = callTimeout;
+    }
+
+    // False when no connection frees up in time or the gateway answers too slowly
+    public boolean exchange(Duration latency) throws InterruptedException {
+        if (!connections.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            log.warn("No free {} gateway connection within {}", name, acquireTimeout);
+            return false;
+        }
+        try {
+            latency = latency.plus(injectedLatency);
+            if (latency.compareTo(callTimeout) > 0) {
+                Thread.sleep(callTimeout.toMillis());
+                log.warn("{} gateway call timed out after {}", name, callTimeout);
+                return false;
+            }
+            Thread.sleep(latency.toMillis());
+            return injectedFailureRate <= 0 || ThreadLocalRandom.current().nextDouble() >= injectedFailureRate;
+        } finally {
+            connections.release();
+        }
+    }
+
+    public void injectFault(Duration extraLatency, double failureRate) {
+        this.injectedLatency = extraLatency;
+        this.injectedFailureRate = failureRate;
+        if (extraLatency.isZero() && failureRate <= 0) {
+            log.info("{} gateway faults cleared", name);
+        } else {
+            log.warn("{} gateway degraded: +{} latency, {} failure rate", name, extraLatency, failureRate);
+        }
+    }
+
+    public Duration getInjectedLatency() {
+        return injectedLatency;
+    }
+
+    public double getInjectedFailureRate() {
+        return injectedFailureRate;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public int getActiveConnections() {
+        return poolSize - connections.availablePermits();
+    }
+}
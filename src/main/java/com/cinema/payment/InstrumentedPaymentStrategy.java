@@ -0,0 +1,69 @@
+package com.cinema.payment;
+
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Records a latency histogram per payment method, operation and outcome around
+// a shared strategy. Timers are registered up front so a payment only records.
+public class InstrumentedPaymentStrategy implements PaymentStrategy {
+
+    private final PaymentStrategy delegate;
+    private final Timer chargeSuccess;
+    private final Timer chargeFailure;
+    private final Timer refundSuccess;
+    private final Timer refundFailure;
+
+    public InstrumentedPaymentStrategy(PaymentStrategy delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.chargeSuccess = timer(meterRegistry, "charge", "success");
+        this.chargeFailure = timer(meterRegistry, "charge", "failure");
+        this.refundSuccess = timer(meterRegistry, "refund", "success");
+        this.refundFailure = timer(meterRegistry, "refund", "failure");
+    }
+
+    @Override
+    public boolean processPayment(Double amount, String transactionDetails) {
+        long start = System.nanoTime();
+        boolean paid = false;
+        try {
+            paid = delegate.processPayment(amount, transactionDetails);
+            return paid;
+        } finally {
+            (paid ? chargeSuccess : chargeFailure).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public boolean validatePaymentDetails(String paymentDetails) {
+        return delegate.validatePaymentDetails(paymentDetails);
+    }
+
+    @Override
+    public String getPaymentMethodName() {
+        return delegate.getPaymentMethodName();
+    }
+
+    @Override
+    public boolean refundPayment(Double amount, String transactionId) {
+        long start = System.nanoTime();
+        boolean refunded = false;
+        try {
+            refunded = delegate.refundPayment(amount, transactionId);
+            return refunded;
+        } finally {
+            (refunded ? refundSuccess : refundFailure).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(MeterRegistry meterRegistry, String operation, String outcome) {
+        return Timer.builder("cinema.payment.gateway.latency")
+                .description("Payment gateway call latency")
+                .tag("method", delegate.getPaymentMethodName())
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -1,16 +1,28 @@
 package com.cinema.payment;
 
+import java.time.Duration;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 // STRATEGY PATTERN
+// Stateless: one instance per application, shared by every Net Banking payment
 public class NetBankingPaymentStrategy implements PaymentStrategy {
 
     private static final Logger log = LoggerFactory.getLogger(NetBankingPaymentStrategy.class);
 
+    private static final Duration CHARGE_LATENCY = Duration.ofMillis(800);
+    private static final Duration REFUND_LATENCY = Duration.ofMillis(600);
+
+    private final GatewayClient gateway;
+
+    public NetBankingPaymentStrategy(GatewayClient gateway) {
+        this.gateway = gateway;
+    }
+
     @Override
     public boolean processPayment(Double amount, String transactionDetails) {
-        log.info("Processing Net Banking payment of amount: {}", amount);
+        log.debug("Processing Net Banking payment of amount: {}", amount);
         
         if (!validatePaymentDetails(transactionDetails)) {
             log.error("Invalid net banking credentials");
@@ -18,12 +30,11 @@ public class NetBankingPaymentStrategy implements PaymentStrategy {
         }
 
         try {
-            log.info("Redirecting to bank portal...");
-            Thread.sleep(800);
-            
-            log.info("Net banking payment processed successfully for amount: {}", amount);
-            return true;
+            boolean paid = gateway.exchange(CHARGE_LATENCY);
+            log.debug("Net Banking payment of amount {} {}", amount, paid ? "succeeded" : "failed");
+            return paid;
         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
             log.error("Net banking payment interrupted", e);
             return false;
         }
@@ -31,7 +42,6 @@ public class NetBankingPaymentStrategy implements PaymentStrategy {
 
     @Override
     public boolean validatePaymentDetails(String credentials) {
-        log.info("Validating net banking credentials");
         return credentials != null && credentials.contains("@");
     }
 
@@ -44,10 +54,9 @@ public class NetBankingPaymentStrategy implements PaymentStrategy {
     public boolean refundPayment(Double amount, String transactionId) {
         log.info("Processing Net Banking refund of amount: {} with transaction ID: {}", amount, transactionId);
         try {
-            Thread.sleep(600);
-            log.info("Net Banking refund processed successfully");
-            return true;
+            return gateway.exchange(REFUND_LATENCY);
         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
             log.error("Refund processing interrupted", e);
             return false;
         }
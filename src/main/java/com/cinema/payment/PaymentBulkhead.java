@@ -0,0 +1,95 @@
+package com.cinema.payment;
+
+import java.util.Locale;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+// Isolates the payments of one gateway: its own worker threads, a semaphore
+// bounding the payments admitted (running plus queued) and its circuit breaker.
+// A slow gateway can only exhaust its own bulkhead, never the other methods'.
+public class PaymentBulkhead {
+
+    private final String name;
+    private final int maxPending;
+    private final Semaphore permits;
+    private final ThreadPoolTaskExecutor executor;
+    private final CircuitBreaker circuitBreaker;
+
+    public PaymentBulkhead(String name, int threads, int maxPending, CircuitBreaker circuitBreaker) {
+        this.name = name;
+        this.maxPending = maxPending;
+        this.permits = new Semaphore(maxPending);
+        this.circuitBreaker = circuitBreaker;
+
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        // The semaphore admits at most maxPending tasks, so the queue never fills
+        executor.setQueueCapacity(maxPending);
+        executor.setThreadNamePrefix("payment-" + name.toLowerCase(Locale.ROOT).replace('_', '-') + "-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+    }
+
+    public enum Admission {
+        ACCEPTED,
+        CIRCUIT_OPEN,
+        FULL
+    }
+
+    // Never blocks: a degraded gateway or a full bulkhead is reported straight away
+    public Admission tryExecute(Runnable task) {
+        if (!circuitBreaker.isCallPermitted()) {
+            return Admission.CIRCUIT_OPEN;
+        }
+        if (!permits.tryAcquire()) {
+            return Admission.FULL;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            });
+            return Admission.ACCEPTED;
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            return Admission.FULL;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueueSize();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int getMaxPending() {
+        return maxPending;
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
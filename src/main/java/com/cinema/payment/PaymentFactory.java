@@ -1,47 +1,159 @@
 package com.cinema.payment;
 
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
 
 import com.cinema.entity.Booking;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
 // FACTORY PATTERN
+// Strategies are stateless, so each method gets one shared, instrumented instance
+// registered at startup; selecting one is a plain EnumMap lookup. Gateway pools
+// and timeouts are configured per method under cinema.payment.gateway.<method>,
+// bulkheads and circuit breakers under cinema.payment.bulkhead.<method>.
 @Component
 public class PaymentFactory {
 
     private static final Logger log = LoggerFactory.getLogger(PaymentFactory.class);
 
-    public PaymentStrategy createPaymentStrategy(Booking.PaymentMethod paymentMethod) {
-        log.info("Creating payment strategy for method: {}", paymentMethod);
-
-        return switch (paymentMethod) {
-            case VISA -> {
-                log.debug("Creating VisaPaymentStrategy");
-                yield new VisaPaymentStrategy();
-            }
-            case CASH -> {
-                log.debug("Creating CashPaymentStrategy");
-                yield new CashPaymentStrategy();
-            }
-            case NET_BANKING -> {
-                log.debug("Creating NetBankingPaymentStrategy");
-                yield new NetBankingPaymentStrategy();
-            }
-            default -> {
-                log.warn("Unknown payment method: {}, defaulting to Cash", paymentMethod);
-                yield new CashPaymentStrategy();
-            }
-        };
-    }
-
-    public PaymentStrategy createPaymentStrategy(String paymentMethodName) {
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<Booking.PaymentMethod, PaymentStrategy> strategies = new EnumMap<>(Booking.PaymentMethod.class);
+    private final Map<Booking.PaymentMethod, GatewayClient> gateways = new EnumMap<>(Booking.PaymentMethod.class);
+    private final Map<Booking.PaymentMethod, PaymentBulkhead> bulkheads = new EnumMap<>(Booking.PaymentMethod.class);
+
+    @PostConstruct
+    public void init() {
+        for (Booking.PaymentMethod method : List.of(Booking.PaymentMethod.VISA, Booking.PaymentMethod.CASH,
+                                                    Booking.PaymentMethod.NET_BANKING)) {
+            gateways.put(method, gateway(method));
+            bulkheads.put(method, bulkhead(method));
+        }
+        // Debit cards go through the card gateway and share its bulkhead
+        gateways.put(Booking.PaymentMethod.DEBIT_CARD, gateways.get(Booking.PaymentMethod.VISA));
+        bulkheads.put(Booking.PaymentMethod.DEBIT_CARD, bulkheads.get(Booking.PaymentMethod.VISA));
+
+        PaymentStrategy visa = register(new VisaPaymentStrategy(gateways.get(Booking.PaymentMethod.VISA)));
+        strategies.put(Booking.PaymentMethod.VISA, visa);
+        strategies.put(Booking.PaymentMethod.DEBIT_CARD, visa);
+        strategies.put(Booking.PaymentMethod.CASH,
+                register(new CashPaymentStrategy(gateways.get(Booking.PaymentMethod.CASH))));
+        strategies.put(Booking.PaymentMethod.NET_BANKING,
+                register(new NetBankingPaymentStrategy(gateways.get(Booking.PaymentMethod.NET_BANKING))));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        new HashSet<>(bulkheads.values()).forEach(PaymentBulkhead::shutdown);
+    }
+
+    public PaymentStrategy getStrategy(Booking.PaymentMethod paymentMethod) {
+        PaymentStrategy strategy = strategies.get(paymentMethod);
+        if (strategy == null) {
+            log.warn("Unknown payment method: {}, defaulting to Cash", paymentMethod);
+            return strategies.get(Booking.PaymentMethod.CASH);
+        }
+        return strategy;
+    }
+
+    public PaymentStrategy getStrategy(String paymentMethodName) {
         try {
-            Booking.PaymentMethod method = Booking.PaymentMethod.valueOf(paymentMethodName.toUpperCase());
-            return createPaymentStrategy(method);
+            return getStrategy(Booking.PaymentMethod.valueOf(paymentMethodName.toUpperCase(Locale.ROOT)));
         } catch (IllegalArgumentException e) {
             log.error("Invalid payment method name: {}", paymentMethodName);
-            return new CashPaymentStrategy();
+            return strategies.get(Booking.PaymentMethod.CASH);
+        }
+    }
+
+    public Map<Booking.PaymentMethod, PaymentStrategy> getStrategies() {
+        return Collections.unmodifiableMap(strategies);
+    }
+
+    public PaymentBulkhead getBulkhead(Booking.PaymentMethod paymentMethod) {
+        PaymentBulkhead bulkhead = bulkheads.get(paymentMethod);
+        return bulkhead != null ? bulkhead : bulkheads.get(Booking.PaymentMethod.CASH);
+    }
+
+    public GatewayClient getGateway(Booking.PaymentMethod paymentMethod) {
+        return gateways.get(paymentMethod);
+    }
+
+    private PaymentStrategy register(PaymentStrategy strategy) {
+        return new InstrumentedPaymentStrategy(strategy, meterRegistry);
+    }
+
+    private GatewayClient gateway(Booking.PaymentMethod method) {
+        String prefix = "cinema.payment.gateway." + key(method) + ".";
+        int poolSize = environment.getProperty(prefix + "pool-size", Integer.class, 20);
+        Duration acquireTimeout = environment.getProperty(prefix + "acquire-timeout", Duration.class, Duration.ofSeconds(2));
+        Duration callTimeout = environment.getProperty(prefix + "call-timeout", Duration.class, Duration.ofSeconds(5));
+
+        GatewayClient gateway = new GatewayClient(method.name(), poolSize, acquireTimeout, callTimeout);
+        Gauge.builder("cinema.payment.gateway.connections.active", gateway, GatewayClient::getActiveConnections)
+                .description("Gateway connections in use")
+                .tag("method", method.name())
+                .register(meterRegistry);
+        log.info("Payment gateway {}: pool size {}, acquire timeout {}, call timeout {}",
+                 method, poolSize, acquireTimeout, callTimeout);
+
+        // Local fault injection, see also the paymentgateways actuator endpoint
+        Duration injectedLatency = environment.getProperty(prefix + "injected-latency", Duration.class, Duration.ZERO);
+        double injectedFailureRate = environment.getProperty(prefix + "injected-failure-rate", Double.class, 0.0);
+        if (!injectedLatency.isZero() || injectedFailureRate > 0) {
+            gateway.injectFault(injectedLatency, injectedFailureRate);
         }
+        return gateway;
+    }
+
+    private PaymentBulkhead bulkhead(Booking.PaymentMethod method) {
+        String prefix = "cinema.payment.bulkhead." + key(method) + ".";
+        int threads = environment.getProperty(prefix + "threads", Integer.class, 8);
+        int maxPending = environment.getProperty(prefix + "max-pending", Integer.class, 100);
+        CircuitBreaker circuitBreaker = new CircuitBreaker(method.name(),
+                environment.getProperty(prefix + "circuit.window-size", Integer.class, 20),
+                environment.getProperty(prefix + "circuit.minimum-calls", Integer.class, 10),
+                environment.getProperty(prefix + "circuit.failure-rate-threshold", Integer.class, 50),
+                environment.getProperty(prefix + "circuit.slow-call-threshold", Duration.class, Duration.ofSeconds(3)),
+                environment.getProperty(prefix + "circuit.open-duration", Duration.class, Duration.ofSeconds(30)),
+                environment.getProperty(prefix + "circuit.half-open-calls", Integer.class, 3));
+
+        PaymentBulkhead bulkhead = new PaymentBulkhead(method.name(), threads, maxPending, circuitBreaker);
+        Gauge.builder("cinema.payment.bulkhead.queue", bulkhead, PaymentBulkhead::getQueueDepth)
+                .description("Payments waiting for a bulkhead thread")
+                .tag("method", method.name())
+                .register(meterRegistry);
+        Gauge.builder("cinema.payment.bulkhead.active", bulkhead, PaymentBulkhead::getActiveCount)
+                .description("Payments being processed by the bulkhead")
+                .tag("method", method.name())
+                .register(meterRegistry);
+        Gauge.builder("cinema.payment.circuit.state", circuitBreaker, cb -> cb.getState().ordinal())
+                .description("Gateway circuit state: 0 closed, 1 open, 2 half-open")
+                .tag("method", method.name())
+                .register(meterRegistry);
+        log.info("Payment bulkhead {}: {} threads, {} pending at most", method, threads, maxPending);
+        return bulkhead;
+    }
+
+    private static String key(Booking.PaymentMethod method) {
+        return method.name().toLowerCase(Locale.ROOT).replace('_', '-');
     }
 }
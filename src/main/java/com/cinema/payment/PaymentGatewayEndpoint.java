@@ -0,0 +1,78 @@
+package com.cinema.payment;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import com.cinema.entity.Booking;
+
+// /actuator/paymentgateways: circuit state and bulkhead occupancy per payment method.
+// With cinema.payment.fault-injection.enabled a POST to /actuator/paymentgateways/{method}
+// with latencyMs and failureRate degrades the simulated gateway for local testing.
+@Component
+@Endpoint(id = "paymentgateways")
+public class PaymentGatewayEndpoint {
+
+    @Autowired
+    private PaymentFactory paymentFactory;
+
+    @Value("${cinema.payment.fault-injection.enabled:false}")
+    private boolean faultInjectionEnabled;
+
+    @ReadOperation
+    public Map<String, Object> gateways() {
+        Map<String, Object> gateways = new LinkedHashMap<>();
+        for (Booking.PaymentMethod method : Booking.PaymentMethod.values()) {
+            gateways.put(method.name(), describe(method));
+        }
+        return gateways;
+    }
+
+    @ReadOperation
+    public Map<String, Object> gateway(@Selector String method) {
+        return describe(Booking.PaymentMethod.valueOf(method.toUpperCase(Locale.ROOT)));
+    }
+
+    @WriteOperation
+    public Map<String, Object> injectFault(@Selector String method, @Nullable Long latencyMs,
+                                           @Nullable Double failureRate) {
+        Booking.PaymentMethod paymentMethod = Booking.PaymentMethod.valueOf(method.toUpperCase(Locale.ROOT));
+        if (!faultInjectionEnabled) {
+            throw new IllegalStateException("Fault injection is disabled (cinema.payment.fault-injection.enabled)");
+        }
+        paymentFactory.getGateway(paymentMethod).injectFault(
+                Duration.ofMillis(latencyMs != null ? latencyMs : 0),
+                failureRate != null ? failureRate : 0.0);
+        return describe(paymentMethod);
+    }
+
+    private Map<String, Object> describe(Booking.PaymentMethod method) {
+        PaymentBulkhead bulkhead = paymentFactory.getBulkhead(method);
+        GatewayClient gateway = paymentFactory.getGateway(method);
+        CircuitBreaker circuitBreaker = bulkhead.getCircuitBreaker();
+
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("gateway", gateway.getName());
+        details.put("circuitState", circuitBreaker.getState());
+        details.put("failureRate", circuitBreaker.getFailureRate());
+        details.put("queueDepth", bulkhead.getQueueDepth());
+        details.put("activePayments", bulkhead.getActiveCount());
+        details.put("availablePermits", bulkhead.getAvailablePermits());
+        details.put("maxPending", bulkhead.getMaxPending());
+        details.put("activeConnections", gateway.getActiveConnections());
+        details.put("poolSize", gateway.getPoolSize());
+        details.put("injectedLatency", gateway.getInjectedLatency().toString());
+        details.put("injectedFailureRate", gateway.getInjectedFailureRate());
+        return details;
+    }
+}
@@ -1,50 +1,121 @@
 package com.cinema.payment;
 
-import com.cinema.entity.Booking;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.cinema.entity.Booking;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 
 // STRATEGY PATTERN
+// Context for the payment strategies. Holds no per-payment state, so one
+// instance serves every booking and a payment allocates nothing here.
+// Charges pass the method's circuit breaker; invalid details are rejected before
+// it so they do not count against the gateway. Every outcome of pay() is timed
+// per method; anything but a successful charge also counts as a decline.
+@Component
 public class PaymentProcessor {
 
     private static final Logger log = LoggerFactory.getLogger(PaymentProcessor.class);
 
-    private PaymentStrategy paymentStrategy;
+    @Autowired
+    private PaymentFactory paymentFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private enum Outcome {
+        SUCCESS,
+        INVALID,
+        CIRCUIT_OPEN,
+        DECLINED
+    }
+
+    private final Map<Booking.PaymentMethod, Map<Outcome, Timer>> payTimers = new EnumMap<>(Booking.PaymentMethod.class);
+    private final Map<Booking.PaymentMethod, Map<Outcome, Counter>> declineCounters = new EnumMap<>(Booking.PaymentMethod.class);
 
-    public PaymentProcessor(PaymentStrategy paymentStrategy) {
-        this.paymentStrategy = paymentStrategy;
+    @PostConstruct
+    public void initMetrics() {
+        for (Booking.PaymentMethod method : Booking.PaymentMethod.values()) {
+            Map<Outcome, Timer> timers = new EnumMap<>(Outcome.class);
+            Map<Outcome, Counter> counters = new EnumMap<>(Outcome.class);
+            for (Outcome outcome : Outcome.values()) {
+                String tag = outcome.name().toLowerCase(Locale.ROOT);
+                timers.put(outcome, Timer.builder("cinema.payment.pay")
+                        .description("Payment latency including validation and circuit checks")
+                        .tag("method", method.name())
+                        .tag("outcome", tag)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry));
+                if (outcome != Outcome.SUCCESS) {
+                    counters.put(outcome, Counter.builder("cinema.payment.declined")
+                            .description("Payments that did not charge, by reason")
+                            .tag("method", method.name())
+                            .tag("reason", tag)
+                            .register(meterRegistry));
+                }
+            }
+            payTimers.put(method, timers);
+            declineCounters.put(method, counters);
+        }
     }
 
-    public void setPaymentStrategy(PaymentStrategy paymentStrategy) {
-        this.paymentStrategy = paymentStrategy;
+    public boolean pay(Booking.PaymentMethod method, Double amount, String transactionDetails) {
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.DECLINED;
+        try {
+            outcome = charge(method, amount, transactionDetails);
+            return outcome == Outcome.SUCCESS;
+        } finally {
+            payTimers.get(method).get(outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (outcome != Outcome.SUCCESS) {
+                declineCounters.get(method).get(outcome).increment();
+            }
+        }
     }
 
-    public boolean pay(Double amount, String transactionDetails) {
-        if (paymentStrategy == null) {
-            log.error("Payment strategy not set");
-            return false;
+    private Outcome charge(Booking.PaymentMethod method, Double amount, String transactionDetails) {
+        PaymentStrategy strategy = paymentFactory.getStrategy(method);
+        if (!strategy.validatePaymentDetails(transactionDetails)) {
+            log.warn("Invalid {} payment details", method);
+            return Outcome.INVALID;
+        }
+
+        CircuitBreaker circuitBreaker = paymentFactory.getBulkhead(method).getCircuitBreaker();
+        if (!circuitBreaker.tryAcquire()) {
+            log.warn("{} gateway circuit is {}, failing payment fast", method, circuitBreaker.getState());
+            return Outcome.CIRCUIT_OPEN;
+        }
+        long start = System.nanoTime();
+        boolean paid = false;
+        try {
+            paid = strategy.processPayment(amount, transactionDetails);
+            return paid ? Outcome.SUCCESS : Outcome.DECLINED;
+        } finally {
+            circuitBreaker.onResult(paid, Duration.ofNanos(System.nanoTime() - start));
         }
+    }
 
-        log.info("Processing payment using strategy: {}", paymentStrategy.getPaymentMethodName());
-        return paymentStrategy.processPayment(amount, transactionDetails);
+    public boolean refund(Booking.PaymentMethod method, Double amount, String transactionId) {
+        return paymentFactory.getStrategy(method).refundPayment(amount, transactionId);
     }
 
-    public String getPaymentMethod() {
-        return paymentStrategy.getPaymentMethodName();
+    public PaymentStrategy getStrategy(Booking.PaymentMethod method) {
+        return paymentFactory.getStrategy(method);
     }
 
-    public static PaymentStrategy getStrategy(Booking.PaymentMethod method) {
-        switch (method) {
-            case VISA:
-            case DEBIT_CARD:
-                return new VisaPaymentStrategy();
-            case CASH:
-                return new CashPaymentStrategy();
-            case NET_BANKING:
-                return new NetBankingPaymentStrategy();
-            default:
-                log.warn("Unknown payment method: {}", method);
-                return new CashPaymentStrategy();
-        }
+    public PaymentBulkhead getBulkhead(Booking.PaymentMethod method) {
+        return paymentFactory.getBulkhead(method);
     }
 }
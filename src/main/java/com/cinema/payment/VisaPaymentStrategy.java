@@ -1,16 +1,28 @@
 package com.cinema.payment;
 
+import java.time.Duration;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 // STRATEGY PATTERN
+// Stateless: one instance per application, shared by every Visa payment
 public class VisaPaymentStrategy implements PaymentStrategy {
 
     private static final Logger log = LoggerFactory.getLogger(VisaPaymentStrategy.class);
 
+    private static final Duration CHARGE_LATENCY = Duration.ofMillis(500);
+    private static final Duration REFUND_LATENCY = Duration.ofMillis(500);
+
+    private final GatewayClient gateway;
+
+    public VisaPaymentStrategy(GatewayClient gateway) {
+        this.gateway = gateway;
+    }
+
     @Override
     public boolean processPayment(Double amount, String transactionDetails) {
-        log.info("Processing Visa payment of amount: {}", amount);
+        log.debug("Processing Visa payment of amount: {}", amount);
         
         if (!validatePaymentDetails(transactionDetails)) {
             log.error("Invalid Visa card details");
@@ -18,12 +30,11 @@ public class VisaPaymentStrategy implements PaymentStrategy {
         }
 
         try {
-            log.info("Connecting to Visa payment gateway...");
-            Thread.sleep(500);
-            
-            log.info("Visa payment processed successfully for amount: {}", amount);
-            return true;
+            boolean paid = gateway.exchange(CHARGE_LATENCY);
+            log.debug("Visa payment of amount {} {}", amount, paid ? "succeeded" : "failed");
+            return paid;
         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
             log.error("Payment processing interrupted", e);
             return false;
         }
@@ -31,7 +42,6 @@ public class VisaPaymentStrategy implements PaymentStrategy {
 
     @Override
     public boolean validatePaymentDetails(String cardDetails) {
-        log.info("Validating Visa card details");
         return cardDetails != null && cardDetails.length() >= 19;
     }
 
@@ -44,10 +54,9 @@ public class VisaPaymentStrategy implements PaymentStrategy {
     public boolean refundPayment(Double amount, String transactionId) {
         log.info("Processing Visa refund of amount: {} with transaction ID: {}", amount, transactionId);
         try {
-            Thread.sleep(500);
-            log.info("Visa refund processed successfully");
-            return true;
+            return gateway.exchange(REFUND_LATENCY);
         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
             log.error("Refund processing interrupted", e);
             return false;
         }
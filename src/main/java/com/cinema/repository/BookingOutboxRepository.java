@@ -0,0 +1,44 @@
+package com.cinema.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.cinema.entity.BookingOutboxEvent;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface BookingOutboxRepository extends JpaRepository<BookingOutboxEvent, Long> {
+    // Unprocessed rows nobody holds a live lease on, oldest first. Locked (skipping rows
+    // another relay has locked, where the database supports it) until the caller leases them.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select e from BookingOutboxEvent e where e.processedAt is null " +
+           "and (e.leasedUntil is null or e.leasedUntil < :now) order by e.id")
+    List<BookingOutboxEvent> findRelayable(@Param("now") LocalDateTime now, Pageable page);
+
+    @Modifying
+    @Query("update BookingOutboxEvent e set e.leasedUntil = :leasedUntil where e.id in :ids")
+    int lease(@Param("ids") Collection<Long> ids, @Param("leasedUntil") LocalDateTime leasedUntil);
+
+    long countByProcessedAtIsNull();
+
+    @Modifying
+    @Query("update BookingOutboxEvent e set e.processedAt = :processedAt where e.id in :ids")
+    int markProcessed(@Param("ids") Collection<Long> ids, @Param("processedAt") LocalDateTime processedAt);
+
+    @Modifying
+    @Query("delete from BookingOutboxEvent e where e.processedAt < :cutoff")
+    int deleteProcessedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
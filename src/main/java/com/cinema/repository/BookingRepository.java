@@ -1,13 +1,91 @@
 package com.cinema.repository;
 
 import com.cinema.entity.Booking;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findByUserId(Long userId);
+    // bookings.user_id directly, not through a join on users, so idx_bookings_user_id applies
+    @Query("select b from Booking b where b.user.id = :userId")
+    List<Booking> findByUserId(@Param("userId") Long userId);
     List<Booking> findByStatus(Booking.BookingStatus status);
+
+    // Keyset page of a user's history, newest first, with every to-one association
+    // fetched in the same select
+    @EntityGraph(attributePaths = {"user", "movie", "showtime", "showtime.movie"})
+    @Query("select b from Booking b where b.user.id = :userId and b.id < :beforeId order by b.id desc")
+    List<Booking> findHistoryPage(@Param("userId") Long userId, @Param("beforeId") Long beforeId, Pageable page);
+
+    // Seat ids of many bookings in one select, without loading the Seat entities
+    @Query("select b.id as bookingId, s.id as seatId from Booking b join b.seats s " +
+           "where b.id in :bookingIds order by s.id")
+    List<BookingSeatRef> findSeatRefs(@Param("bookingIds") Collection<Long> bookingIds);
+
+    @Query("select b.id as id, b.showtime.id as showtimeId, b.holdExpiresAt as holdExpiresAt, " +
+           "b.bookingDate as bookingDate from Booking b " +
+           "where b.status = com.cinema.entity.Booking.BookingStatus.PENDING")
+    List<PendingHold> findPendingHolds();
+
+    @Query("select b.id as id, b.showtime.id as showtimeId, b.holdExpiresAt as holdExpiresAt, " +
+           "b.bookingDate as bookingDate from Booking b " +
+           "where b.id in :ids and b.status = com.cinema.entity.Booking.BookingStatus.PENDING")
+    List<PendingHold> findPendingHolds(@Param("ids") Collection<Long> ids);
+
+    // Conditional on PENDING and on the deadline, so a booking confirmed meanwhile, or
+    // one whose deadline was moved past an in-flight charge, is left alone. Rows from
+    // before hold deadlines were stored have none and are due by their booking date.
+    @Modifying
+    @Query("update Booking b set b.status = com.cinema.entity.Booking.BookingStatus.EXPIRED, b.holdExpiresAt = null " +
+           "where b.id in :ids and b.status = com.cinema.entity.Booking.BookingStatus.PENDING " +
+           "and (b.holdExpiresAt is null or b.holdExpiresAt <= :now)")
+    int expirePending(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    // Moves the hold deadline of a booking that is still pending; 0 rows means it no longer is
+    @Modifying
+    @Query("update Booking b set b.holdExpiresAt = :holdExpiresAt " +
+           "where b.id = :id and b.status = com.cinema.entity.Booking.BookingStatus.PENDING")
+    int moveHoldDeadline(@Param("id") Long id, @Param("holdExpiresAt") LocalDateTime holdExpiresAt);
+
+    // PENDING -> CONFIRMED only; 0 rows means the booking expired or was cancelled meanwhile
+    @Modifying
+    @Query("update Booking b set b.status = com.cinema.entity.Booking.BookingStatus.CONFIRMED, " +
+           "b.paymentDate = :paymentDate, b.transactionId = :transactionId, b.holdExpiresAt = null " +
+           "where b.id = :id and b.status = com.cinema.entity.Booking.BookingStatus.PENDING")
+    int confirmPending(@Param("id") Long id, @Param("paymentDate") LocalDateTime paymentDate,
+                       @Param("transactionId") String transactionId);
+
+    // Cancels only from the status the caller read; 0 rows means the booking moved on meanwhile
+    @Modifying
+    @Query("update Booking b set b.status = com.cinema.entity.Booking.BookingStatus.CANCELLED, b.holdExpiresAt = null " +
+           "where b.id = :id and b.status = :status")
+    int cancelIfStatus(@Param("id") Long id, @Param("status") Booking.BookingStatus status);
+
+    @Query("select b.paymentMethod from Booking b where b.id = :id")
+    Optional<Booking.PaymentMethod> findPaymentMethodById(@Param("id") Long id);
+
+    @Query("select b.id from Booking b where b.id in :ids and b.status = :status")
+    List<Long> findIdsByStatus(@Param("ids") Collection<Long> ids, @Param("status") Booking.BookingStatus status);
+
+    interface PendingHold {
+        Long getId();
+        Long getShowtimeId();
+        LocalDateTime getHoldExpiresAt();
+        LocalDateTime getBookingDate();
+    }
+
+    interface BookingSeatRef {
+        Long getBookingId();
+        Long getSeatId();
+    }
 }
@@ -2,14 +2,23 @@ package com.cinema.repository;
 
 import com.cinema.entity.Review;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
-    List<Review> findByMovieId(Long movieId);
-    List<Review> findByUserId(Long userId);
-    List<Review> findByMovieIdAndUserId(Long movieId, Long userId);
+    // Written out so the filter stays on reviews.movie_id / user_id; the derived
+    // queries left-join movies and users and never reach the review indexes
+    @Query("select r from Review r where r.movie.id = :movieId")
+    List<Review> findByMovieId(@Param("movieId") Long movieId);
+
+    @Query("select r from Review r where r.user.id = :userId")
+    List<Review> findByUserId(@Param("userId") Long userId);
+
+    @Query("select r from Review r where r.movie.id = :movieId and r.user.id = :userId")
+    List<Review> findByMovieIdAndUserId(@Param("movieId") Long movieId, @Param("userId") Long userId);
 }
 
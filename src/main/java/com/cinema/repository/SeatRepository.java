@@ -1,17 +1,114 @@
 package com.cinema.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.cinema.entity.Seat;
 
 @Repository
 public interface SeatRepository extends JpaRepository<Seat, Long> {
-    List<Seat> findByShowtimeId(Long showtimeId);
-    List<Seat> findByShowtimeIdAndStatus(Long showtimeId, Seat.SeatStatus status);
+    // Spelled out so the predicate lands on seats.showtime_id; the derived forms
+    // left-join showtime and filter on its id, bypassing idx_seats_showtime_status
+    @Query("select s from Seat s where s.showtime.id = :showtimeId")
+    List<Seat> findByShowtimeId(@Param("showtimeId") Long showtimeId);
+
+    @Query("select s from Seat s where s.showtime.id = :showtimeId and s.status = :status")
+    List<Seat> findByShowtimeIdAndStatus(@Param("showtimeId") Long showtimeId, @Param("status") Seat.SeatStatus status);
+
+    @Modifying
+    @Query("delete from Seat s where s.showtime.id = :showtimeId")
+    int deleteByShowtimeId(@Param("showtimeId") Long showtimeId);
+
     @Modifying
-    void deleteByShowtimeId(Long showtimeId);
+    @Query("delete from Seat s where s.showtime.id in :showtimeIds")
+    int deleteByShowtimeIdIn(@Param("showtimeIds") Collection<Long> showtimeIds);
+
+    @Modifying
+    @Query("update Seat s set s.status = com.cinema.entity.Seat.SeatStatus.RESERVED, s.version = s.version + 1 " +
+           "where s.showtime.id = :showtimeId and s.id in :ids " +
+           "and s.status = com.cinema.entity.Seat.SeatStatus.AVAILABLE")
+    int reserveAvailable(@Param("showtimeId") Long showtimeId, @Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("update Seat s set s.status = com.cinema.entity.Seat.SeatStatus.SOLD, s.version = s.version + 1 " +
+           "where s.showtime.id = :showtimeId and s.id in :ids " +
+           "and s.status <> com.cinema.entity.Seat.SeatStatus.SOLD")
+    int confirmUnsold(@Param("showtimeId") Long showtimeId, @Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("update Seat s set s.status = com.cinema.entity.Seat.SeatStatus.SOLD, s.version = s.version + 1 " +
+           "where s.showtime.id = :showtimeId and s.id in :ids " +
+           "and s.status = com.cinema.entity.Seat.SeatStatus.RESERVED")
+    int confirmReserved(@Param("showtimeId") Long showtimeId, @Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("update Seat s set s.status = com.cinema.entity.Seat.SeatStatus.AVAILABLE, s.booking = null, " +
+           "s.version = s.version + 1 " +
+           "where s.showtime.id = :showtimeId and s.id in :ids " +
+           "and s.status = com.cinema.entity.Seat.SeatStatus.RESERVED")
+    int releaseReserved(@Param("showtimeId") Long showtimeId, @Param("ids") Collection<Long> ids);
+
+    @Query("select s.showtime.id as showtimeId, s.status as status, s.version as version from Seat s where s.id = :id")
+    Optional<SeatState> findStateById(@Param("id") Long id);
+
+    // Compare-and-set on the version: 0 rows means another writer got there first
+    @Modifying
+    @Query("update Seat s set s.status = :status, s.version = s.version + 1 " +
+           "where s.id = :id and s.version = :version")
+    int transition(@Param("id") Long id, @Param("version") long version, @Param("status") Seat.SeatStatus status);
+
+    @Modifying
+    @Query("update Seat s set s.status = com.cinema.entity.Seat.SeatStatus.AVAILABLE, s.booking = null, " +
+           "s.version = s.version + 1 where s.id = :id and s.version = :version")
+    int releaseIfVersion(@Param("id") Long id, @Param("version") long version);
+
+    @Query("select s.id as id, s.status as status from Seat s where s.showtime.id = :showtimeId and s.id in :ids")
+    List<SeatStatusRef> findStatuses(@Param("showtimeId") Long showtimeId, @Param("ids") Collection<Long> ids);
+
+    @Query("select s.id as id, s.status as status from Seat s where s.showtime.id = :showtimeId " +
+           "and s.status <> com.cinema.entity.Seat.SeatStatus.AVAILABLE")
+    List<SeatStatusRef> findTaken(@Param("showtimeId") Long showtimeId);
+
+    @Query("select s.showtime.id as showtimeId, count(s) as available from Seat s " +
+           "where s.showtime.id in :showtimeIds and s.status = com.cinema.entity.Seat.SeatStatus.AVAILABLE " +
+           "group by s.showtime.id")
+    List<AvailableCount> countAvailableByShowtimeIds(@Param("showtimeIds") Collection<Long> showtimeIds);
+
+    interface AvailableCount {
+        Long getShowtimeId();
+        long getAvailable();
+    }
+
+    // Seat layout rows without loading the showtime and booking associations
+    @Query("select s.id as id, s.seatNumber as seatNumber, s.rowNumber as rowNumber, " +
+           "s.columnNumber as columnNumber, s.status as status, s.booking.id as bookingId " +
+           "from Seat s where s.showtime.id = :showtimeId order by s.rowNumber, s.columnNumber")
+    List<SeatLayoutRow> findLayoutRows(@Param("showtimeId") Long showtimeId);
+
+    interface SeatLayoutRow {
+        Long getId();
+        String getSeatNumber();
+        Integer getRowNumber();
+        Integer getColumnNumber();
+        Seat.SeatStatus getStatus();
+        Long getBookingId();
+    }
+
+    interface SeatStatusRef {
+        Long getId();
+        Seat.SeatStatus getStatus();
+    }
+
+    interface SeatState {
+        Long getShowtimeId();
+        Seat.SeatStatus getStatus();
+        long getVersion();
+    }
 }
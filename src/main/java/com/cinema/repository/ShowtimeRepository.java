@@ -2,6 +2,9 @@ package com.cinema.repository;
 
 import com.cinema.entity.Showtime;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -9,7 +12,30 @@ import java.util.List;
 
 @Repository
 public interface ShowtimeRepository extends JpaRepository<Showtime, Long> {
-    List<Showtime> findByMovieId(Long movieId);
+    // Filter on showtime.movie_id itself; the derived form joins movies first
+    @Query("select s from Showtime s where s.movie.id = :movieId")
+    List<Showtime> findByMovieId(@Param("movieId") Long movieId);
     List<Showtime> findByShowTimeAfter(LocalDateTime showTime);
-    List<Showtime> findByMovie_Id(Long movieId);
+
+    // Applied in the same transaction as the seat transition it accounts for
+    @Modifying
+    @Query("update Showtime s set s.availableSeats = s.availableSeats + :delta where s.id = :id")
+    int adjustAvailableSeats(@Param("id") Long id, @Param("delta") int delta);
+
+    @Modifying
+    @Query("update Showtime s set s.availableSeats = :count where s.id = :id")
+    int setAvailableSeats(@Param("id") Long id, @Param("count") int count);
+
+    // Reconciliation only overwrites the value it observed, never a newer one
+    @Modifying
+    @Query("update Showtime s set s.availableSeats = :actual where s.id = :id and s.availableSeats = :observed")
+    int correctAvailableSeats(@Param("id") Long id, @Param("observed") int observed, @Param("actual") int actual);
+
+    @Query("select s.id as id, s.availableSeats as availableSeats from Showtime s where s.showTime > :after")
+    List<AvailabilityCounter> findCountersByShowTimeAfter(@Param("after") LocalDateTime after);
+
+    interface AvailabilityCounter {
+        Long getId();
+        Integer getAvailableSeats();
+    }
 }
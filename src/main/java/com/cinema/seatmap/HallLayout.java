@@ -0,0 +1,114 @@
+package com.cinema.seatmap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.cinema.entity.Hall;
+
+// Immutable seat positions of a hall. Built once per hall and shared by all of its
+// showtimes; per-showtime state only carries statuses on top of these positions.
+public final class HallLayout {
+
+    public static final int DEFAULT_SEATS_PER_ROW = 10;
+
+    public enum SeatType {
+        STANDARD,
+        PREMIUM
+    }
+
+    public static final class Position {
+        private final int rowNumber;
+        private final int columnNumber;
+        private final String seatNumber;
+        private final SeatType seatType;
+        private final boolean aisleAfter;
+
+        private Position(int rowNumber, int columnNumber, SeatType seatType, boolean aisleAfter) {
+            this.rowNumber = rowNumber;
+            this.columnNumber = columnNumber;
+            this.seatNumber = seatNumber(rowNumber, columnNumber);
+            this.seatType = seatType;
+            this.aisleAfter = aisleAfter;
+        }
+
+        public int getRowNumber() { return rowNumber; }
+        public int getColumnNumber() { return columnNumber; }
+        public String getSeatNumber() { return seatNumber; }
+        public SeatType getSeatType() { return seatType; }
+        public boolean isAisleAfter() { return aisleAfter; }
+    }
+
+    private final String name;
+    private final int seatsPerRow;
+    private final List<Position> positions;
+    private final Map<String, Position> bySeatNumber;
+
+    private HallLayout(String name, int rowCount, int seatsPerRow, Set<Integer> aisleAfter, Set<Integer> premiumRows) {
+        this.name = name;
+        this.seatsPerRow = seatsPerRow;
+        List<Position> all = new ArrayList<>(rowCount * seatsPerRow);
+        for (int row = 1; row <= rowCount; row++) {
+            SeatType type = premiumRows.contains(row) ? SeatType.PREMIUM : SeatType.STANDARD;
+            for (int col = 1; col <= seatsPerRow; col++) {
+                all.add(new Position(row, col, type, col < seatsPerRow && aisleAfter.contains(col)));
+            }
+        }
+        this.positions = List.copyOf(all);
+        this.bySeatNumber = new HashMap<>(all.size() * 2);
+        for (Position position : all) {
+            bySeatNumber.put(position.getSeatNumber(), position);
+        }
+    }
+
+    public static HallLayout of(Hall hall) {
+        return new HallLayout(hall.getName(), hall.getRowCount(), hall.getSeatsPerRow(),
+                numbers(hall.getAisleAfterColumns()), numbers(hall.getPremiumRows()));
+    }
+
+    // Plain grid for showtimes whose hall has no template, matching the old generated layout
+    public static HallLayout uniform(int totalSeats) {
+        int rows = (totalSeats + DEFAULT_SEATS_PER_ROW - 1) / DEFAULT_SEATS_PER_ROW;
+        return new HallLayout(null, rows, DEFAULT_SEATS_PER_ROW, Set.of(), Set.of());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getSeatsPerRow() {
+        return seatsPerRow;
+    }
+
+    public int capacity() {
+        return positions.size();
+    }
+
+    // The first n positions in row-major order
+    public List<Position> positions(int count) {
+        return positions.subList(0, Math.min(count, positions.size()));
+    }
+
+    public Position position(String seatNumber) {
+        return bySeatNumber.get(seatNumber);
+    }
+
+    public static String seatNumber(int rowNumber, int columnNumber) {
+        return String.valueOf((char) ('A' + rowNumber - 1)) + columnNumber;
+    }
+
+    private static Set<Integer> numbers(String csv) {
+        if (csv == null || csv.isBlank()) {
+            return Set.of();
+        }
+        return Arrays.stream(csv.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .map(Integer::valueOf)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+}
@@ -0,0 +1,106 @@
+package com.cinema.seatmap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Hashed timing wheel keyed by an id: schedule and cancel are O(1), advance only
+// visits the buckets for the ticks that elapsed. Entries remember their absolute
+// deadline, so deadlines further out than one revolution simply stay in their
+// bucket until a later pass finds them due.
+public class HashedTimingWheel<K> {
+
+    private final long tickMillis;
+    private final int mask;
+    private final Entry<K>[] buckets;
+    private final Map<K, Entry<K>> entries = new HashMap<>();
+    private long lastTick;
+
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two: " + wheelSize);
+        }
+        this.tickMillis = tickMillis;
+        this.mask = wheelSize - 1;
+        this.buckets = new Entry[wheelSize];
+        this.lastTick = startMillis / tickMillis;
+    }
+
+    // Replaces any deadline already registered for the key
+    public synchronized void schedule(K key, long deadlineMillis) {
+        cancel(key);
+        long tick = Math.max(deadlineMillis / tickMillis, lastTick + 1);
+        Entry<K> entry = new Entry<>(key, tick);
+        int bucket = (int) (tick & mask);
+        entry.next = buckets[bucket];
+        if (entry.next != null) {
+            entry.next.prev = entry;
+        }
+        buckets[bucket] = entry;
+        entries.put(key, entry);
+    }
+
+    public synchronized boolean cancel(K key) {
+        Entry<K> entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        unlink(entry);
+        return true;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // Removes and returns every key whose deadline is at or before nowMillis
+    public synchronized List<K> advance(long nowMillis) {
+        long nowTick = nowMillis / tickMillis;
+        List<K> expired = new ArrayList<>();
+        if (nowTick <= lastTick) {
+            return expired;
+        }
+        long ticks = Math.min(nowTick - lastTick, buckets.length);
+        for (long t = nowTick - ticks + 1; t <= nowTick; t++) {
+            Entry<K> entry = buckets[(int) (t & mask)];
+            while (entry != null) {
+                Entry<K> next = entry.next;
+                if (entry.tick <= nowTick) {
+                    unlink(entry);
+                    entries.remove(entry.key);
+                    expired.add(entry.key);
+                }
+                entry = next;
+            }
+        }
+        lastTick = nowTick;
+        return expired;
+    }
+
+    private void unlink(Entry<K> entry) {
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else {
+            buckets[(int) (entry.tick & mask)] = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        }
+        entry.prev = null;
+        entry.next = null;
+    }
+
+    private static final class Entry<K> {
+        private final K key;
+        private final long tick;
+        private Entry<K> prev;
+        private Entry<K> next;
+
+        private Entry(K key, long tick) {
+            this.key = key;
+            this.tick = tick;
+        }
+    }
+}
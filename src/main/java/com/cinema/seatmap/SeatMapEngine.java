@@ -0,0 +1,129 @@
+package com.cinema.seatmap;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.cinema.entity.Seat;
+import com.cinema.repository.SeatRepository;
+
+// Showtime-scoped, in-memory seat state. Seat rows are loaded once per showtime
+// and every later transition is applied to the bitsets first; SeatWriteBehindFlusher
+// copies the result back to the seats table.
+@Component
+public class SeatMapEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatMapEngine.class);
+
+    private final Map<Long, ShowtimeSeatMap> seatMaps = new ConcurrentHashMap<>();
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private SeatStatusBroadcaster broadcaster;
+
+    @Value("${cinema.seatmap.enabled:true}")
+    private boolean enabled;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Ids come from public URLs, so only showtimes that have seats are cached; any
+    // other id gets an empty map that every transition rejects
+    public ShowtimeSeatMap getSeatMap(Long showtimeId) {
+        ShowtimeSeatMap seatMap = seatMaps.computeIfAbsent(showtimeId, this::load);
+        return seatMap != null ? seatMap : new ShowtimeSeatMap(showtimeId, List.of());
+    }
+
+    public boolean hold(Long showtimeId, Collection<Long> seatIds) {
+        boolean held = getSeatMap(showtimeId).hold(seatIds);
+        if (!held) {
+            log.debug("Seat hold rejected for showtime {}: {}", showtimeId, seatIds);
+        } else {
+            broadcast(showtimeId, seatIds);
+        }
+        return held;
+    }
+
+    public boolean confirm(Long showtimeId, Collection<Long> seatIds) {
+        boolean confirmed = getSeatMap(showtimeId).confirm(seatIds);
+        if (!confirmed) {
+            log.debug("Seat confirmation rejected for showtime {}: {}", showtimeId, seatIds);
+        } else {
+            broadcast(showtimeId, seatIds);
+        }
+        return confirmed;
+    }
+
+    public boolean unconfirm(Long showtimeId, Collection<Long> seatIds) {
+        boolean unconfirmed = getSeatMap(showtimeId).unconfirm(seatIds);
+        if (!unconfirmed) {
+            log.debug("Seat unconfirmation rejected for showtime {}: {}", showtimeId, seatIds);
+        } else {
+            broadcast(showtimeId, seatIds);
+        }
+        return unconfirmed;
+    }
+
+    public boolean release(Long showtimeId, Collection<Long> seatIds) {
+        boolean released = getSeatMap(showtimeId).release(seatIds);
+        if (!released) {
+            log.debug("Seat release rejected for showtime {}: {}", showtimeId, seatIds);
+        } else {
+            broadcast(showtimeId, seatIds);
+        }
+        return released;
+    }
+
+    public Seat.SeatStatus statusOf(Long showtimeId, Long seatId) {
+        return getSeatMap(showtimeId).statusOf(seatId);
+    }
+
+    public Collection<ShowtimeSeatMap> loadedSeatMaps() {
+        return seatMaps.values();
+    }
+
+    // Drops the cached map, e.g. after the seats of a showtime were regenerated
+    public void evict(Long showtimeId) {
+        if (seatMaps.remove(showtimeId) != null) {
+            log.info("Evicted seat map for showtime ID: {}", showtimeId);
+        }
+        broadcaster.reset(showtimeId);
+    }
+
+    // Status after the transition, read back from the map
+    private void broadcast(Long showtimeId, Collection<Long> seatIds) {
+        if (!broadcaster.hasWatchers(showtimeId)) {
+            return;
+        }
+        ShowtimeSeatMap seatMap = getSeatMap(showtimeId);
+        Map<Long, Seat.SeatStatus> statuses = new HashMap<>(seatIds.size() * 2);
+        for (Long seatId : seatIds) {
+            statuses.put(seatId, seatMap.statusOf(seatId));
+        }
+        broadcaster.publish(showtimeId, statuses);
+    }
+
+    private ShowtimeSeatMap load(Long showtimeId) {
+        List<Seat> seats = seatRepository.findByShowtimeId(showtimeId).stream()
+                .sorted(Comparator.comparing(Seat::getId))
+                .toList();
+        if (seats.isEmpty()) {
+            log.debug("No seats for showtime ID: {}, seat map not cached", showtimeId);
+            return null;
+        }
+        log.info("Loaded seat map for showtime ID: {} with {} seats", showtimeId, seats.size());
+        return new ShowtimeSeatMap(showtimeId, seats);
+    }
+}
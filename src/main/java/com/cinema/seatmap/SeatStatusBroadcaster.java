@@ -0,0 +1,192 @@
+package com.cinema.seatmap;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.cinema.entity.Seat;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+
+// OBSERVER PATTERN
+// Live seat availability over server-sent events. Transitions are collected per
+// showtime (the latest status per seat wins) and pushed once per flush interval,
+// serialized once and written to every watcher of that showtime.
+@Component
+public class SeatStatusBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatStatusBroadcaster.class);
+
+    private final Map<Long, Channel> channels = new ConcurrentHashMap<>();
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${cinema.seatmap.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${cinema.seatmap.stream.heartbeat-ms:15000}")
+    private long heartbeatMs;
+
+    @Value("${cinema.seatmap.stream.max-watchers-per-showtime:10000}")
+    private int maxWatchersPerShowtime;
+
+    // Registers a watcher and sends it the seats currently taken. The snapshot is
+    // sent under the channel lock so no older snapshot can overtake a newer delta.
+    public SseEmitter subscribe(Long showtimeId, Supplier<Map<Seat.SeatStatus, List<Long>>> snapshot) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        // Joined inside compute so a concurrent unsubscribe cannot drop the channel under us
+        Channel channel = channels.compute(showtimeId, (id, current) -> {
+            Channel joined = current != null ? current : new Channel(id);
+            if (joined.watchers.size() < maxWatchersPerShowtime) {
+                joined.watchers.add(emitter);
+            }
+            return joined;
+        });
+        if (!channel.watchers.contains(emitter)) {
+            log.warn("Rejecting seat watcher for showtime {}: {} already connected", showtimeId, channel.watchers.size());
+            emitter.complete();
+            return emitter;
+        }
+
+        emitter.onCompletion(() -> unsubscribe(channel, emitter));
+        emitter.onTimeout(() -> unsubscribe(channel, emitter));
+        emitter.onError(e -> unsubscribe(channel, emitter));
+
+        synchronized (channel) {
+            try {
+                emitter.send(SseEmitter.event()
+                        .name("snapshot")
+                        .data(toJson(showtimeId, snapshot.get()), MediaType.APPLICATION_JSON));
+            } catch (IOException | RuntimeException e) {
+                log.debug("Seat watcher for showtime {} left before the snapshot", showtimeId);
+                unsubscribe(channel, emitter);
+            }
+        }
+        log.info("Seat watcher connected to showtime {} ({} watching)", showtimeId, channel.watchers.size());
+        return emitter;
+    }
+
+    public boolean hasWatchers(Long showtimeId) {
+        return channels.containsKey(showtimeId);
+    }
+
+    // Records new statuses for the next flush; a no-op for showtimes nobody watches
+    public void publish(Long showtimeId, Map<Long, Seat.SeatStatus> statuses) {
+        Channel channel = channels.get(showtimeId);
+        if (channel != null) {
+            channel.pending.putAll(statuses);
+        }
+    }
+
+    public void publish(Long showtimeId, List<Long> seatIds, Seat.SeatStatus status) {
+        Channel channel = channels.get(showtimeId);
+        if (channel != null) {
+            seatIds.forEach(seatId -> channel.pending.put(seatId, status));
+        }
+    }
+
+    // Seats of the showtime were regenerated or removed: watchers have to reload
+    public void reset(Long showtimeId) {
+        Channel channel = channels.get(showtimeId);
+        if (channel != null) {
+            channel.pending.clear();
+            send(channel, SseEmitter.event().name("reload").data(showtimeId));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${cinema.seatmap.stream.flush-interval-ms:250}")
+    public void flush() {
+        long now = System.currentTimeMillis();
+        for (Channel channel : channels.values()) {
+            Map<Seat.SeatStatus, List<Long>> changes = channel.drain();
+            if (!changes.isEmpty()) {
+                String json = toJson(channel.showtimeId, changes);
+                send(channel, SseEmitter.event().name("delta").data(json, MediaType.APPLICATION_JSON));
+            } else if (now - channel.lastSentAt >= heartbeatMs) {
+                send(channel, SseEmitter.event().comment("keepalive"));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        channels.values().forEach(channel -> channel.watchers.forEach(SseEmitter::complete));
+        channels.clear();
+    }
+
+    // The event is built once and the same frames are written to every watcher
+    private void send(Channel channel, SseEmitter.SseEventBuilder event) {
+        Set<ResponseBodyEmitter.DataWithMediaType> frames = event.build();
+        synchronized (channel) {
+            channel.lastSentAt = System.currentTimeMillis();
+            for (SseEmitter emitter : channel.watchers) {
+                try {
+                    emitter.send(frames);
+                } catch (IOException | RuntimeException e) {
+                    unsubscribe(channel, emitter);
+                }
+            }
+        }
+    }
+
+    private void unsubscribe(Channel channel, SseEmitter emitter) {
+        if (channel.watchers.remove(emitter)) {
+            log.debug("Seat watcher left showtime {}", channel.showtimeId);
+        }
+        channels.computeIfPresent(channel.showtimeId, (id, current) -> current.watchers.isEmpty() ? null : current);
+    }
+
+    private String toJson(Long showtimeId, Map<Seat.SeatStatus, List<Long>> seats) {
+        try {
+            return objectMapper.writeValueAsString(Map.of("showtimeId", showtimeId, "seats", seats));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize seat changes", e);
+        }
+    }
+
+    private static final class Channel {
+        private final Long showtimeId;
+        private final Set<SseEmitter> watchers = new CopyOnWriteArraySet<>();
+        private final Map<Long, Seat.SeatStatus> pending = new ConcurrentHashMap<>();
+        private volatile long lastSentAt = System.currentTimeMillis();
+
+        private Channel(Long showtimeId) {
+            this.showtimeId = showtimeId;
+        }
+
+        // A status published while draining stays pending for the next flush
+        private Map<Seat.SeatStatus, List<Long>> drain() {
+            Map<Seat.SeatStatus, List<Long>> changes = new EnumMap<>(Seat.SeatStatus.class);
+            Iterator<Map.Entry<Long, Seat.SeatStatus>> it = pending.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Long, Seat.SeatStatus> entry = it.next();
+                Long seatId = entry.getKey();
+                Seat.SeatStatus status = entry.getValue();
+                if (pending.remove(seatId, status)) {
+                    changes.computeIfAbsent(status, s -> new ArrayList<>()).add(seatId);
+                }
+            }
+            return changes;
+        }
+    }
+}
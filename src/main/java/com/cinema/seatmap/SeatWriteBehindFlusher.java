@@ -0,0 +1,97 @@
+package com.cinema.seatmap;
+
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.cinema.entity.Seat;
+import com.cinema.repository.SeatRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Writes the seat transitions recorded by SeatMapEngine back to the seats table,
+// one bulk UPDATE per status and showtime instead of a save per seat. Each UPDATE
+// only matches rows in the status the transition starts from, so a flush never
+// reopens or resells a seat that was sold in the table.
+@Component
+public class SeatWriteBehindFlusher {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatWriteBehindFlusher.class);
+
+    @Autowired
+    private SeatMapEngine seatMapEngine;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Counter conflictCounter;
+
+    @PostConstruct
+    public void init() {
+        conflictCounter = Counter.builder("cinema.seatmap.flush.conflicts")
+                .description("Seats the write-behind left alone because the table disagreed with the seat map")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${cinema.seatmap.flush-interval-ms:200}")
+    public void flush() {
+        for (ShowtimeSeatMap seatMap : seatMapEngine.loadedSeatMaps()) {
+            Map<Seat.SeatStatus, List<Long>> changes = seatMap.drainDirty();
+            if (changes.isEmpty()) {
+                continue;
+            }
+            Long showtimeId = seatMap.getShowtimeId();
+            try {
+                transactionTemplate.executeWithoutResult(tx ->
+                        changes.forEach((status, seatIds) -> write(showtimeId, status, seatIds)));
+                log.debug("Flushed {} seat status groups for showtime ID: {}", changes.size(), showtimeId);
+            } catch (RuntimeException e) {
+                log.error("Seat write-behind failed for showtime ID: {}, will retry", showtimeId, e);
+                changes.values().forEach(seatMap::markDirty);
+            }
+        }
+    }
+
+    // Rows already in the target status (flushed before, or an A -> B -> A round trip)
+    // match nothing and are fine; anything else is a conflict and stays as it is.
+    private void write(Long showtimeId, Seat.SeatStatus status, List<Long> seatIds) {
+        int updated = switch (status) {
+            case RESERVED -> seatRepository.reserveAvailable(showtimeId, seatIds);
+            case SOLD -> seatRepository.confirmUnsold(showtimeId, seatIds);
+            case AVAILABLE -> seatRepository.releaseReserved(showtimeId, seatIds);
+        };
+        if (updated == seatIds.size()) {
+            return;
+        }
+        List<Long> conflicting = seatRepository.findStatuses(showtimeId, seatIds).stream()
+                .filter(ref -> ref.getStatus() != status)
+                .map(SeatRepository.SeatStatusRef::getId)
+                .toList();
+        if (!conflicting.isEmpty()) {
+            log.error("Seats {} of showtime {} could not be written as {}, the table has them in another status",
+                      conflicting, showtimeId, status);
+            conflictCounter.increment(conflicting.size());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("Flushing pending seat changes before shutdown");
+        flush();
+    }
+}
@@ -0,0 +1,266 @@
+package com.cinema.seatmap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.cinema.entity.Seat;
+
+// STATE PATTERN
+// Seat states of one showtime kept as per-status bitsets. Every transition swaps
+// the whole state with a single compare-and-set, so a multi-seat hold either
+// lands completely or not at all.
+public class ShowtimeSeatMap {
+
+    private final Long showtimeId;
+    private final long[] seatIdBySlot;
+    private final String[] seatNumberBySlot;
+    private final Map<Long, Integer> slotBySeatId;
+    private final AtomicReference<State> state;
+    private final Set<Long> dirtySeatIds = ConcurrentHashMap.newKeySet();
+
+    public ShowtimeSeatMap(Long showtimeId, List<Seat> seats) {
+        this.showtimeId = showtimeId;
+        this.seatIdBySlot = new long[seats.size()];
+        this.seatNumberBySlot = new String[seats.size()];
+        this.slotBySeatId = new HashMap<>(seats.size() * 2);
+
+        int words = (seats.size() + 63) >>> 6;
+        long[] reserved = new long[words];
+        long[] sold = new long[words];
+
+        for (int slot = 0; slot < seats.size(); slot++) {
+            Seat seat = seats.get(slot);
+            seatIdBySlot[slot] = seat.getId();
+            seatNumberBySlot[slot] = seat.getSeatNumber();
+            slotBySeatId.put(seat.getId(), slot);
+            if (seat.getStatus() == Seat.SeatStatus.RESERVED) {
+                reserved[slot >>> 6] |= 1L << slot;
+            } else if (seat.getStatus() == Seat.SeatStatus.SOLD) {
+                sold[slot >>> 6] |= 1L << slot;
+            }
+        }
+        this.state = new AtomicReference<>(new State(reserved, sold, 0L));
+    }
+
+    public Long getShowtimeId() {
+        return showtimeId;
+    }
+
+    public int size() {
+        return seatIdBySlot.length;
+    }
+
+    public long getVersion() {
+        return state.get().version;
+    }
+
+    public boolean contains(Long seatId) {
+        return slotBySeatId.containsKey(seatId);
+    }
+
+    // AVAILABLE -> RESERVED for every seat, or nothing if any seat is taken
+    public boolean hold(Collection<Long> seatIds) {
+        int[] slots = slotsOf(seatIds);
+        if (slots == null) {
+            return false;
+        }
+
+        while (true) {
+            State current = state.get();
+            for (int slot : slots) {
+                if (current.isTaken(slot)) {
+                    return false;
+                }
+            }
+            long[] reserved = current.reserved.clone();
+            for (int slot : slots) {
+                reserved[slot >>> 6] |= 1L << slot;
+            }
+            if (state.compareAndSet(current, new State(reserved, current.sold, current.version + 1))) {
+                markDirty(slots);
+                return true;
+            }
+        }
+    }
+
+    // RESERVED -> SOLD for every seat, or nothing if any seat is not currently held
+    public boolean confirm(Collection<Long> seatIds) {
+        int[] slots = slotsOf(seatIds);
+        if (slots == null) {
+            return false;
+        }
+
+        while (true) {
+            State current = state.get();
+            for (int slot : slots) {
+                if (current.statusOf(slot) != Seat.SeatStatus.RESERVED) {
+                    return false;
+                }
+            }
+            long[] reserved = current.reserved.clone();
+            long[] sold = current.sold.clone();
+            for (int slot : slots) {
+                reserved[slot >>> 6] &= ~(1L << slot);
+                sold[slot >>> 6] |= 1L << slot;
+            }
+            if (state.compareAndSet(current, new State(reserved, sold, current.version + 1))) {
+                markDirty(slots);
+                return true;
+            }
+        }
+    }
+
+    // SOLD -> RESERVED for every seat, or nothing if any seat is not sold; only
+    // undoes a confirmation whose transaction rolled back
+    public boolean unconfirm(Collection<Long> seatIds) {
+        int[] slots = slotsOf(seatIds);
+        if (slots == null) {
+            return false;
+        }
+
+        while (true) {
+            State current = state.get();
+            for (int slot : slots) {
+                if (current.statusOf(slot) != Seat.SeatStatus.SOLD) {
+                    return false;
+                }
+            }
+            long[] reserved = current.reserved.clone();
+            long[] sold = current.sold.clone();
+            for (int slot : slots) {
+                sold[slot >>> 6] &= ~(1L << slot);
+                reserved[slot >>> 6] |= 1L << slot;
+            }
+            if (state.compareAndSet(current, new State(reserved, sold, current.version + 1))) {
+                markDirty(slots);
+                return true;
+            }
+        }
+    }
+
+    // RESERVED -> AVAILABLE for every seat, or nothing if any seat is available or sold
+    public boolean release(Collection<Long> seatIds) {
+        int[] slots = slotsOf(seatIds);
+        if (slots == null) {
+            return false;
+        }
+
+        while (true) {
+            State current = state.get();
+            for (int slot : slots) {
+                if (current.statusOf(slot) != Seat.SeatStatus.RESERVED) {
+                    return false;
+                }
+            }
+            long[] reserved = current.reserved.clone();
+            for (int slot : slots) {
+                reserved[slot >>> 6] &= ~(1L << slot);
+            }
+            if (state.compareAndSet(current, new State(reserved, current.sold, current.version + 1))) {
+                markDirty(slots);
+                return true;
+            }
+        }
+    }
+
+    public Seat.SeatStatus statusOf(Long seatId) {
+        Integer slot = slotBySeatId.get(seatId);
+        if (slot == null) {
+            return null;
+        }
+        return state.get().statusOf(slot);
+    }
+
+    public long seatIdAt(int slot) {
+        return seatIdBySlot[slot];
+    }
+
+    public String seatNumberAt(int slot) {
+        return seatNumberBySlot[slot];
+    }
+
+    // Status of every slot taken from one consistent state
+    public Seat.SeatStatus[] statuses() {
+        State current = state.get();
+        Seat.SeatStatus[] statuses = new Seat.SeatStatus[seatIdBySlot.length];
+        for (int slot = 0; slot < statuses.length; slot++) {
+            statuses[slot] = current.statusOf(slot);
+        }
+        return statuses;
+    }
+
+    public int availableCount() {
+        State current = state.get();
+        int taken = 0;
+        for (int w = 0; w < current.reserved.length; w++) {
+            taken += Long.bitCount(current.reserved[w] | current.sold[w]);
+        }
+        return seatIdBySlot.length - taken;
+    }
+
+    // Seats changed since the last write-behind flush, grouped by their current status
+    public Map<Seat.SeatStatus, List<Long>> drainDirty() {
+        Map<Seat.SeatStatus, List<Long>> changes = new EnumMap<>(Seat.SeatStatus.class);
+        Iterator<Long> it = dirtySeatIds.iterator();
+        while (it.hasNext()) {
+            Long seatId = it.next();
+            it.remove();
+            changes.computeIfAbsent(statusOf(seatId), s -> new ArrayList<>()).add(seatId);
+        }
+        return changes;
+    }
+
+    public void markDirty(Collection<Long> seatIds) {
+        dirtySeatIds.addAll(seatIds);
+    }
+
+    private void markDirty(int[] slots) {
+        for (int slot : slots) {
+            dirtySeatIds.add(seatIdBySlot[slot]);
+        }
+    }
+
+    private int[] slotsOf(Collection<Long> seatIds) {
+        int[] slots = seatIds.stream().distinct().mapToInt(id -> slotBySeatId.getOrDefault(id, -1)).toArray();
+        if (slots.length == 0 || Arrays.stream(slots).anyMatch(slot -> slot < 0)) {
+            return null;
+        }
+        return slots;
+    }
+
+    private static final class State {
+        private final long[] reserved;
+        private final long[] sold;
+        private final long version;
+
+        private State(long[] reserved, long[] sold, long version) {
+            this.reserved = reserved;
+            this.sold = sold;
+            this.version = version;
+        }
+
+        private boolean isTaken(int slot) {
+            return ((reserved[slot >>> 6] | sold[slot >>> 6]) & (1L << slot)) != 0;
+        }
+
+        private Seat.SeatStatus statusOf(int slot) {
+            long mask = 1L << slot;
+            if ((sold[slot >>> 6] & mask) != 0) {
+                return Seat.SeatStatus.SOLD;
+            }
+            if ((reserved[slot >>> 6] & mask) != 0) {
+                return Seat.SeatStatus.RESERVED;
+            }
+            return Seat.SeatStatus.AVAILABLE;
+        }
+    }
+}
@@ -9,12 +9,20 @@ import com.cinema.observer.SmsNotificationObserver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 
 // FACADE PATTERN
 @Service
@@ -52,26 +60,57 @@ public class BookingFacade {
     @Autowired
     private BookingNotificationManager notificationManager;
 
+    @Autowired
+    private PaymentPipeline paymentPipeline;
+
+    @Value("${cinema.booking.history-page-size:50}")
+    private int historyPageSize;
+
+    @Autowired
+    private EmailNotificationObserver emailNotificationObserver;
+
+    @Autowired
+    private SmsNotificationObserver smsNotificationObserver;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Timer initiateSuccess;
+    private Timer initiateFailure;
+
+    @PostConstruct
+    public void initMetrics() {
+        initiateSuccess = initiateTimer("success");
+        initiateFailure = initiateTimer("failure");
+    }
+
+    private Timer initiateTimer(String outcome) {
+        return Timer.builder("cinema.booking.initiate")
+                .description("Booking initiation latency, from request to PENDING booking")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
     public void initializeObservers() {
         log.info("Initializing notification observers");
-        notificationManager.registerObserver(new EmailNotificationObserver());
-        notificationManager.registerObserver(new SmsNotificationObserver());
+        notificationManager.registerObserver(emailNotificationObserver);
+        notificationManager.registerObserver(smsNotificationObserver);
     }
 
     public List<MovieDTO> getAllMovies() {
-        log.info("Facade: Getting all movies");
-        List<Movie> movies = movieService.getAllActiveMovies();
-        return movies.stream().map(movieService::convertToDTO).toList();
+        log.debug("Facade: Getting all movies");
+        return movieService.getAllActiveMovieDTOs();
     }
 
     public List<MovieDTO> getMoviesByGenre(String genre) {
-        log.info("Facade: Getting movies by genre: {}", genre);
+        log.debug("Facade: Getting movies by genre: {}", genre);
         List<Movie> movies = movieService.getMoviesByGenre(genre);
         return movies.stream().map(movieService::convertToDTO).toList();
     }
 
     public MovieDTO getMovieWithShowtimes(Long movieId) {
-        log.info("Facade: Getting movie {} with showtimes", movieId);
+        log.debug("Facade: Getting movie {} with showtimes", movieId);
         Optional<Movie> movie = movieRepository.findById(movieId);
         if (movie.isEmpty()) {
             log.warn("Movie not found with ID: {}", movieId);
@@ -81,21 +120,25 @@ public class BookingFacade {
     }
 
     public List<ShowtimeDTO> getShowtimesForMovie(Long movieId) {
-        log.info("Facade: Getting showtimes for movie: {}", movieId);
+        log.debug("Facade: Getting showtimes for movie: {}", movieId);
         List<Showtime> showtimes = showtimeService.getShowtimesByMovieId(movieId);
         return showtimes.stream().map(showtimeService::convertToDTO).toList();
     }
 
     public List<SeatDTO> getAvailableSeatsForShowtime(Long showtimeId) {
-        log.info("Facade: Getting available seats for showtime: {}", showtimeId);
+        log.debug("Facade: Getting available seats for showtime: {}", showtimeId);
         List<Seat> seats = seatService.getAvailableSeats(showtimeId);
         return seats.stream().map(seatService::convertToDTO).toList();
     }
 
     public List<SeatDTO> getSeatLayoutForShowtime(Long showtimeId) {
-        log.info("Facade: Getting seat layout for showtime: {}", showtimeId);
-        List<Seat> seats = seatService.getSeatsByShowtimeId(showtimeId);
-        return seats.stream().map(seatService::convertToDTO).toList();
+        log.debug("Facade: Getting seat layout for showtime: {}", showtimeId);
+        return seatService.getSeatLayout(showtimeId);
+    }
+
+    public SseEmitter watchSeatAvailability(Long showtimeId) {
+        log.debug("Facade: Streaming seat availability for showtime: {}", showtimeId);
+        return seatService.watchSeats(showtimeId);
     }
 
     @Transactional
@@ -104,6 +147,18 @@ public class BookingFacade {
         log.info("Facade: Initiating booking for user: {}, movie: {}, showtime: {}", 
                  userId, movieId, showtimeId);
 
+        long start = System.nanoTime();
+        BookingDTO result = null;
+        try {
+            result = createPendingBooking(userId, movieId, showtimeId, seatIds, paymentMethod);
+            return result;
+        } finally {
+            (result != null ? initiateSuccess : initiateFailure).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private BookingDTO createPendingBooking(Long userId, Long movieId, Long showtimeId,
+                                            List<Long> seatIds, Booking.PaymentMethod paymentMethod) {
         try {
             Optional<User> user = userRepository.findById(userId);
             if (user.isEmpty()) {
@@ -119,20 +174,19 @@ public class BookingFacade {
                 return null;
             }
 
+            List<Long> requestedSeatIds = seatIds.stream().distinct().toList();
+            if (requestedSeatIds.isEmpty() || !seatService.holdSeats(showtimeId, requestedSeatIds)) {
+                log.error("Seats not available: {}", requestedSeatIds);
+                TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+                return null;
+            }
+
+            // Seat rows are referenced, not loaded: their state lives in the seat map
             List<Seat> selectedSeats = new ArrayList<>();
-            Double totalPrice = 0.0;
-
-            for (Long seatId : seatIds) {
-                Optional<Seat> seat = seatRepository.findById(seatId);
-                if (seat.isEmpty() || !seat.get().isAvailable()) {
-                    log.error("Seat not available: {}", seatId);
-                    return null;
-                }
-                
-                seatService.reserveSeat(seatId);
-                selectedSeats.add(seat.get());
-                totalPrice += showtime.get().getTicketPrice();
+            for (Long seatId : requestedSeatIds) {
+                selectedSeats.add(seatRepository.getReferenceById(seatId));
             }
+            Double totalPrice = showtime.get().getTicketPrice() * selectedSeats.size();
 
             // BUILDER PATTERN
             Booking booking = new BookingBuilder()
@@ -151,16 +205,25 @@ public class BookingFacade {
 
         } catch (Exception e) {
             log.error("Error during booking initiation", e);
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
             return null;
         }
     }
 
-    @Transactional
     public boolean confirmBookingPayment(Long bookingId, String transactionDetails) {
         log.info("Facade: Confirming payment for booking: {}", bookingId);
         return bookingService.processPaymentAndConfirmBooking(bookingId, transactionDetails);
     }
 
+    public void submitBookingPayment(Long bookingId, String transactionDetails) {
+        log.info("Facade: Submitting payment for booking: {}", bookingId);
+        paymentPipeline.submit(bookingId, transactionDetails);
+    }
+
+    public PaymentPipeline.PaymentState getPaymentState(Long bookingId) {
+        return paymentPipeline.getState(bookingId);
+    }
+
     @Transactional
     public boolean cancelBooking(Long bookingId) {
         log.info("Facade: Cancelling booking: {}", bookingId);
@@ -168,19 +231,22 @@ public class BookingFacade {
     }
 
     public List<BookingDTO> getUserBookingHistory(Long userId) {
-        log.info("Facade: Getting booking history for user: {}", userId);
-        List<Booking> bookings = bookingService.getBookingsByUserId(userId);
-        return bookings.stream().map(bookingService::convertToDTO).toList();
+        return getUserBookingHistory(userId, null, historyPageSize);
+    }
+
+    // Keyset pagination: beforeId is the id of the last booking already shown
+    public List<BookingDTO> getUserBookingHistory(Long userId, Long beforeId, int limit) {
+        log.debug("Facade: Getting booking history for user: {}", userId);
+        return bookingService.getBookingHistory(userId, beforeId, limit);
     }
 
     public BookingDTO getBookingDetails(Long bookingId) {
-        log.info("Facade: Getting booking details for ID: {}", bookingId);
-        Optional<Booking> booking = bookingService.getBookingById(bookingId);
-        return booking.map(bookingService::convertToDTO).orElse(null);
+        log.debug("Facade: Getting booking details for ID: {}", bookingId);
+        return bookingService.getBookingDetails(bookingId).orElse(null);
     }
 
     public List<ShowtimeDTO> getUpcomingShowtimes() {
-        log.info("Facade: Getting upcoming showtimes");
+        log.debug("Facade: Getting upcoming showtimes");
         List<Showtime> showtimes = showtimeService.getUpcomingShowtimes();
         return showtimes.stream().map(showtimeService::convertToDTO).toList();
     }
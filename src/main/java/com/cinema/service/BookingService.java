@@ -1,26 +1,40 @@
 package com.cinema.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.cinema.dto.BookingDTO;
 import com.cinema.entity.Booking;
 import com.cinema.entity.Seat;
 import com.cinema.observer.BookingNotificationManager;
-import com.cinema.payment.PaymentFactory;
 import com.cinema.payment.PaymentProcessor;
-import com.cinema.payment.PaymentStrategy;
 import com.cinema.repository.BookingRepository;
 import com.cinema.repository.SeatRepository;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
 // SINGLETON PATTERN
 @Service
 public class BookingService {
@@ -43,34 +57,88 @@ public class BookingService {
     private BookingNotificationManager notificationManager;
 
     @Autowired
-    private PaymentFactory paymentFactory;
+    private PaymentProcessor paymentProcessor;
 
     @Autowired
     private MovieService movieService;
 
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private SeatHoldExpiry seatHoldExpiry;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Timer cancelSuccess;
+    private Timer cancelFailure;
+
+    @PostConstruct
+    public void initMetrics() {
+        cancelSuccess = cancelTimer("success");
+        cancelFailure = cancelTimer("failure");
+    }
+
+    private Timer cancelTimer(String outcome) {
+        return Timer.builder("cinema.booking.cancel")
+                .description("Booking cancellation latency")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
     @Transactional
     public Booking createBooking(Booking booking) {
         log.info("Creating booking for user ID: {}", booking.getUser().getId());
         booking.setBookingDate(LocalDateTime.now());
         booking.setStatus(Booking.BookingStatus.PENDING);
-        return bookingRepository.save(booking);
+        booking.setHoldExpiresAt(seatHoldExpiry.newDeadline());
+        Booking saved = bookingRepository.save(booking);
+
+        // The hold only starts ticking once the booking is visible
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    seatHoldExpiry.schedule(saved.getId(), saved.getHoldExpiresAt());
+                }
+            });
+        } else {
+            seatHoldExpiry.schedule(saved.getId(), saved.getHoldExpiresAt());
+        }
+        return saved;
     }
 
     public Optional<Booking> getBookingById(Long id) {
-        log.info("Fetching booking with ID: {}", id);
+        log.debug("Fetching booking with ID: {}", id);
         return bookingRepository.findById(id);
     }
 
+    // Read-write on purpose: the status page and key replays read a booking right
+    // after it changed, and only the write pool is sure to have seen that commit
+    @Transactional
+    public Optional<BookingDTO> getBookingDetails(Long id) {
+        log.debug("Fetching booking details with ID: {}", id);
+        return bookingRepository.findById(id).map(this::convertToDTO);
+    }
+
     public List<Booking> getBookingsByUserId(Long userId) {
-        log.info("Fetching bookings for user ID: {}", userId);
+        log.debug("Fetching bookings for user ID: {}", userId);
         return bookingRepository.findByUserId(userId);
     }
 
     // STRATEGY PATTERN
-    @Transactional
+    // Not transactional on purpose: the gateway call must not pin a connection.
+    // Only the hold extension and the final status change run in (short) transactions.
     public boolean processPaymentAndConfirmBooking(Long bookingId, String transactionDetails) {
         log.info("Processing payment for booking ID: {}", bookingId);
-        
+
+        // Stop the hold clock before checking the status so the seats cannot expire mid-charge
+        seatHoldExpiry.cancel(bookingId);
         Optional<Booking> booking = bookingRepository.findById(bookingId);
         if (booking.isEmpty()) {
             log.error("Booking not found with ID: {}", bookingId);
@@ -78,36 +146,100 @@ public class BookingService {
         }
 
         Booking b = booking.get();
-        
-        // FACTORY PATTERN
-        PaymentStrategy strategy = paymentFactory.createPaymentStrategy(b.getPaymentMethod());
-        PaymentProcessor processor = new PaymentProcessor(strategy);
-        
-        if (processor.pay(b.getTotalPrice(), transactionDetails)) {
-            b.setStatus(Booking.BookingStatus.CONFIRMED);
-            b.setPaymentDate(LocalDateTime.now());
-            b.setTransactionId(UUID.randomUUID().toString());
-            bookingRepository.save(b);
-            
-            for (Seat seat : b.getSeats()) {
-                seatService.confirmSeat(seat.getId());
+        if (b.getStatus() != Booking.BookingStatus.PENDING) {
+            log.warn("Booking {} is {}, not charging again", bookingId, b.getStatus());
+            return b.getStatus() == Booking.BookingStatus.CONFIRMED;
+        }
+
+        // The stored deadline is what a restart or another instance's sweep goes by,
+        // so it moves past the charge before any money is taken
+        LocalDateTime chargeDeadline = seatHoldExpiry.newDeadline();
+        if (!moveHoldDeadline(bookingId, chargeDeadline)) {
+            log.warn("Booking {} stopped being pending before it was charged", bookingId);
+            return false;
+        }
+
+        // FACTORY PATTERN: the processor picks the shared strategy for the method
+        if (!paymentProcessor.pay(b.getPaymentMethod(), b.getTotalPrice(), transactionDetails)) {
+            log.error("Payment processing failed for booking ID: {}", bookingId);
+            LocalDateTime deadline = b.getHoldExpiresAt() != null ? b.getHoldExpiresAt() : chargeDeadline;
+            moveHoldDeadline(bookingId, deadline);
+            seatHoldExpiry.schedule(bookingId, deadline);
+            return false;
+        }
+
+        String transactionId = UUID.randomUUID().toString();
+        boolean confirmed = false;
+        try {
+            confirmed = Boolean.TRUE.equals(transactionTemplate.execute(tx -> confirmPaidBooking(bookingId, transactionId, tx)));
+        } finally {
+            if (!confirmed) {
+                // Charged but not confirmed: the customer must not pay for seats they did not get
+                refund(b, transactionId);
+                seatHoldExpiry.schedule(bookingId, chargeDeadline);
             }
-            
-            // OBSERVER PATTERN
-            notificationManager.notifyBookingConfirmed(b);
-            
-            log.info("Booking confirmed successfully with transaction ID: {}", b.getTransactionId());
-            return true;
         }
-        
-        log.error("Payment processing failed for booking ID: {}", bookingId);
-        return false;
+        return confirmed;
+    }
+
+    private boolean moveHoldDeadline(Long bookingId, LocalDateTime deadline) {
+        Integer moved = transactionTemplate.execute(tx -> bookingRepository.moveHoldDeadline(bookingId, deadline));
+        return moved != null && moved == 1;
+    }
+
+    private void refund(Booking booking, String transactionId) {
+        if (paymentProcessor.refund(booking.getPaymentMethod(), booking.getTotalPrice(), transactionId)) {
+            log.warn("Booking {} could not be confirmed after payment, refunded transaction {}",
+                     booking.getId(), transactionId);
+        } else {
+            log.error("Booking {} could not be confirmed after payment and the refund of transaction {} failed",
+                      booking.getId(), transactionId);
+        }
+    }
+
+    // The status change is conditional on PENDING, so a booking that expired or was
+    // cancelled while the gateway was charging stays that way and the caller refunds
+    private boolean confirmPaidBooking(Long bookingId, String transactionId, TransactionStatus tx) {
+        Optional<Booking> booking = bookingRepository.findById(bookingId);
+        if (booking.isEmpty() || booking.get().getStatus() != Booking.BookingStatus.PENDING) {
+            log.error("Booking {} is no longer pending, cannot confirm payment", bookingId);
+            return false;
+        }
+
+        Booking b = booking.get();
+        if (bookingRepository.confirmPending(bookingId, LocalDateTime.now(), transactionId) != 1) {
+            log.error("Booking {} stopped being pending during payment, cannot confirm it", bookingId);
+            return false;
+        }
+        if (!seatService.confirmSeats(b.getShowtime().getId(), b.getSeats().stream().map(Seat::getId).toList())) {
+            log.error("Seats of booking {} are no longer held, cannot confirm payment", bookingId);
+            tx.setRollbackOnly();
+            return false;
+        }
+        // Picks up the confirmed row without a second, unconditional UPDATE
+        entityManager.refresh(b);
+
+        // OBSERVER PATTERN
+        notificationManager.notifyBookingConfirmed(b);
+
+        log.info("Booking confirmed successfully with transaction ID: {}", b.getTransactionId());
+        return true;
     }
 
     @Transactional
     public boolean cancelBooking(Long bookingId) {
         log.info("Cancelling booking ID: {}", bookingId);
-        
+        long start = System.nanoTime();
+        boolean cancelled = false;
+        try {
+            cancelled = cancel(bookingId);
+            return cancelled;
+        } finally {
+            (cancelled ? cancelSuccess : cancelFailure).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private boolean cancel(Long bookingId) {
         Optional<Booking> booking = bookingRepository.findById(bookingId);
         if (booking.isEmpty()) {
             log.error("Booking not found with ID: {}", bookingId);
@@ -116,17 +248,28 @@ public class BookingService {
 
         Booking b = booking.get();
         
-        if (b.getStatus() == Booking.BookingStatus.CANCELLED) {
-            log.warn("Booking already cancelled: {}", bookingId);
+        // Expired bookings already gave their seats back; both states are final
+        if (b.getStatus() == Booking.BookingStatus.CANCELLED || b.getStatus() == Booking.BookingStatus.EXPIRED) {
+            log.warn("Booking {} is already {}", bookingId, b.getStatus());
             return false;
         }
 
-        for (Seat seat : b.getSeats()) {
-            seatService.releaseSeat(seat.getId());
+        // Conditional like confirm and expire: a payment confirmed since the read above
+        // keeps its booking, and the row lock holds off a confirmation until we commit
+        if (bookingRepository.cancelIfStatus(bookingId, b.getStatus()) != 1) {
+            log.error("Booking {} is no longer {}, not cancelling", bookingId, b.getStatus());
+            return false;
         }
 
-        b.setStatus(Booking.BookingStatus.CANCELLED);
-        bookingRepository.save(b);
+        // Only a pending booking still holds its seats; sold seats stay sold
+        if (b.getStatus() == Booking.BookingStatus.PENDING
+                && !seatService.releaseSeats(b.getShowtime().getId(), b.getSeats().stream().map(Seat::getId).toList())) {
+            log.error("Seats of booking {} are no longer held, not cancelling", bookingId);
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            return false;
+        }
+        entityManager.refresh(b);
+        seatHoldExpiry.cancel(bookingId);
         
         // OBSERVER PATTERN
         notificationManager.notifyBookingCancelled(b);
@@ -135,13 +278,39 @@ public class BookingService {
         return true;
     }
 
+    // Two selects per page however many bookings it holds: bookings with their
+    // movie/showtime, then all of their seat ids. Pass the last id of the previous
+    // page as beforeId (null for the first page).
+    @Transactional(readOnly = true)
+    public List<BookingDTO> getBookingHistory(Long userId, Long beforeId, int limit) {
+        log.debug("Fetching booking history for user ID: {} before: {}", userId, beforeId);
+        List<Booking> bookings = bookingRepository.findHistoryPage(
+                userId, beforeId != null ? beforeId : Long.MAX_VALUE, PageRequest.of(0, limit));
+        if (bookings.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, List<Long>> seatIdsByBooking = new HashMap<>();
+        for (BookingRepository.BookingSeatRef ref : bookingRepository.findSeatRefs(
+                bookings.stream().map(Booking::getId).toList())) {
+            seatIdsByBooking.computeIfAbsent(ref.getBookingId(), id -> new ArrayList<>()).add(ref.getSeatId());
+        }
+        return bookings.stream()
+                .map(b -> convertToDTO(b, seatIdsByBooking.getOrDefault(b.getId(), List.of())))
+                .toList();
+    }
+
     public BookingDTO convertToDTO(Booking booking) {
+        return convertToDTO(booking, booking.getSeats().stream().map(Seat::getId).toList());
+    }
+
+    private BookingDTO convertToDTO(Booking booking, List<Long> seatIds) {
         BookingDTO dto = new BookingDTO();
         dto.setId(booking.getId());
         dto.setUserId(booking.getUser().getId());
         dto.setMovieId(booking.getMovie().getId());
         dto.setShowtimeId(booking.getShowtime().getId());
-        dto.setSeatIds(booking.getSeats().stream().map(Seat::getId).toList());
+        dto.setSeatIds(seatIds);
         dto.setTotalPrice(booking.getTotalPrice());
         dto.setStatus(booking.getStatus().name());
         dto.setPaymentMethod(booking.getPaymentMethod().name());
@@ -0,0 +1,44 @@
+package com.cinema.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.cinema.entity.Movie;
+
+// STRATEGY PATTERN
+// Logical AND of several strategies, evaluated in one pass over the catalog
+public final class CompositeFilterStrategy implements MovieFilterStrategy {
+    private final List<MovieFilterStrategy> parts;
+
+    private CompositeFilterStrategy(List<MovieFilterStrategy> parts) {
+        this.parts = List.copyOf(parts);
+    }
+
+    public static MovieFilterStrategy of(MovieFilterStrategy... strategies) {
+        List<MovieFilterStrategy> parts = new ArrayList<>();
+        for (MovieFilterStrategy strategy : strategies) {
+            parts.addAll(strategy.parts());
+        }
+        return parts.size() == 1 ? parts.get(0) : new CompositeFilterStrategy(parts);
+    }
+
+    @Override
+    public boolean matches(Movie movie) {
+        for (MovieFilterStrategy part : parts) {
+            if (!part.matches(movie)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String getFilterType() {
+        return "COMPOSITE";
+    }
+
+    @Override
+    public List<MovieFilterStrategy> parts() {
+        return parts;
+    }
+}
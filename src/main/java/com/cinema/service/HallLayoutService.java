@@ -0,0 +1,46 @@
+package com.cinema.service;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import com.cinema.config.CacheConfig;
+import com.cinema.entity.Hall;
+import com.cinema.repository.HallRepository;
+import com.cinema.seatmap.HallLayout;
+
+// Hall templates are read far more often than they change, so the built layouts
+// are cached by hall name and evicted whenever a hall is saved.
+@Service
+public class HallLayoutService {
+
+    private static final Logger log = LoggerFactory.getLogger(HallLayoutService.class);
+
+    @Autowired
+    private HallRepository hallRepository;
+
+    @Cacheable(cacheNames = CacheConfig.HALL_LAYOUTS, unless = "#result == null")
+    public Optional<HallLayout> getHallLayout(String hallName) {
+        if (hallName == null) {
+            return Optional.empty();
+        }
+        log.info("Building seat layout for hall: {}", hallName);
+        return hallRepository.findByName(hallName).map(HallLayout::of);
+    }
+
+    public List<Hall> getAllHalls() {
+        return hallRepository.findAll();
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.HALL_LAYOUTS, allEntries = true)
+    public Hall saveHall(Hall hall) {
+        log.info("Saving hall: {}", hall.getName());
+        return hallRepository.save(hall);
+    }
+}
@@ -0,0 +1,217 @@
+package com.cinema.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.cinema.dto.BookingDTO;
+import com.cinema.entity.IdempotencyRecord;
+import com.cinema.repository.IdempotencyRecordRepository;
+
+// Idempotency keys for the booking endpoints. A bounded LRU answers replays and
+// parks concurrent duplicates on the first request's result; idempotency_keys
+// is the durable fallback and is written in the same transaction as the booking.
+@Service
+public class IdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    // idempotency_keys.idempotency_key
+    public static final int MAX_KEY_LENGTH = 100;
+
+    @Autowired
+    private IdempotencyRecordRepository recordRepository;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${cinema.idempotency.cache-size:10000}")
+    private int cacheSize;
+
+    @Value("${cinema.idempotency.retention:24h}")
+    private Duration retention;
+
+    @Value("${cinema.idempotency.wait-timeout-ms:10000}")
+    private long waitTimeoutMs;
+
+    private final Map<String, Entry> recent = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > cacheSize;
+        }
+    };
+
+    public static final class Outcome {
+        private final BookingDTO booking;
+        private final boolean replayed;
+
+        private Outcome(BookingDTO booking, boolean replayed) {
+            this.booking = booking;
+            this.replayed = replayed;
+        }
+
+        public BookingDTO getBooking() { return booking; }
+        public boolean isReplayed() { return replayed; }
+    }
+
+    // Runs the action once per (user, operation, key). The action runs inside a
+    // transaction that also records the key; returning null rolls both back so the
+    // client may retry with the same key. Requests without a key are not deduplicated;
+    // a key that is blank or does not fit the column is rejected (see isValidKey).
+    public Outcome execute(Long userId, IdempotencyRecord.Operation operation, String key,
+                           String requestFingerprint, Supplier<BookingDTO> action) {
+        if (key == null) {
+            return new Outcome(action.get(), false);
+        }
+        if (!isValidKey(key)) {
+            throw new IllegalArgumentException("Invalid idempotency key");
+        }
+        String requestHash = sha256(requestFingerprint);
+        String cacheKey = userId + ":" + operation + ":" + key;
+
+        Entry mine = new Entry(requestHash);
+        Entry existing;
+        synchronized (recent) {
+            existing = recent.get(cacheKey);
+            if (existing != null && existing.isExpired(retention)) {
+                recent.remove(cacheKey);
+                existing = null;
+            }
+            if (existing == null) {
+                recent.put(cacheKey, mine);
+            }
+        }
+        if (existing != null) {
+            checkSameRequest(existing.requestHash, requestHash, key);
+            log.info("Replaying {} for idempotency key {}", operation, key);
+            return new Outcome(await(existing), true);
+        }
+
+        try {
+            Optional<IdempotencyRecord> stored = recordRepository
+                    .findByUserIdAndOperationAndIdempotencyKey(userId, operation, key);
+            if (stored.isPresent()) {
+                return replay(stored.get(), requestHash, mine);
+            }
+
+            BookingDTO booking;
+            try {
+                booking = transactionTemplate.execute(tx -> {
+                    BookingDTO result = action.get();
+                    if (result == null) {
+                        tx.setRollbackOnly();
+                        return null;
+                    }
+                    recordRepository.save(new IdempotencyRecord(userId, operation, key, requestHash, result.getId()));
+                    return result;
+                });
+            } catch (DataIntegrityViolationException e) {
+                // Another instance recorded the key first; its booking is the answer
+                IdempotencyRecord winner = recordRepository
+                        .findByUserIdAndOperationAndIdempotencyKey(userId, operation, key)
+                        .orElseThrow(() -> e);
+                return replay(winner, requestHash, mine);
+            }
+
+            finish(cacheKey, mine, booking);
+            return new Outcome(booking, false);
+        } catch (RuntimeException e) {
+            finish(cacheKey, mine, null);
+            throw e;
+        }
+    }
+
+    @Scheduled(cron = "${cinema.idempotency.cleanup-cron:0 30 * * * *}")
+    public void purgeExpired() {
+        Integer deleted = transactionTemplate.execute(tx ->
+                recordRepository.deleteCreatedBefore(LocalDateTime.now().minus(retention)));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} expired idempotency keys", deleted);
+        }
+    }
+
+    private Outcome replay(IdempotencyRecord record, String requestHash, Entry mine) {
+        checkSameRequest(record.getRequestHash(), requestHash, record.getIdempotencyKey());
+        log.info("Replaying {} for idempotency key {} from the database", record.getOperation(), record.getIdempotencyKey());
+        BookingDTO booking = bookingService.getBookingDetails(record.getBookingId()).orElse(null);
+        mine.result.complete(booking);
+        return new Outcome(booking, true);
+    }
+
+    // Failed attempts are forgotten so the client can retry with the same key
+    private void finish(String cacheKey, Entry entry, BookingDTO booking) {
+        entry.result.complete(booking);
+        if (booking == null) {
+            synchronized (recent) {
+                recent.remove(cacheKey, entry);
+            }
+        }
+    }
+
+    private BookingDTO await(Entry entry) {
+        try {
+            return entry.result.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the original request");
+        } catch (ExecutionException | TimeoutException e) {
+            throw new RuntimeException("Original request is still in progress");
+        }
+    }
+
+    public static boolean isValidKey(String key) {
+        return !key.isBlank() && key.length() <= MAX_KEY_LENGTH;
+    }
+
+    private static void checkSameRequest(String storedHash, String requestHash, String key) {
+        if (!storedHash.equals(requestHash)) {
+            throw new RuntimeException("Idempotency key " + key + " was already used for a different request");
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class Entry {
+        private final String requestHash;
+        private final long createdAt = System.currentTimeMillis();
+        private final CompletableFuture<BookingDTO> result = new CompletableFuture<>();
+
+        private Entry(String requestHash) {
+            this.requestHash = requestHash;
+        }
+
+        private boolean isExpired(Duration retention) {
+            return System.currentTimeMillis() - createdAt > retention.toMillis();
+        }
+    }
+}
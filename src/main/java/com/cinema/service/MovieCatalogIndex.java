@@ -0,0 +1,212 @@
+package com.cinema.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.cinema.entity.Movie;
+import com.cinema.repository.MovieRepository;
+
+// In-memory index over the active catalog: case-folded genre postings and a
+// rating-sorted array for binary-search range queries. Readers work on an
+// immutable snapshot; MovieService applies admin writes incrementally.
+@Component
+public class MovieCatalogIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(MovieCatalogIndex.class);
+
+    private static final Comparator<Movie> BY_ID = Comparator.comparing(Movie::getId);
+    private static final Comparator<Movie> BY_RATING = Comparator.comparingDouble(MovieCatalogIndex::ratingOf)
+            .thenComparing(BY_ID);
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    private volatile Snapshot snapshot;
+
+    public List<Movie> findByGenre(String genre) {
+        return find(new GenreFilterStrategy(genre));
+    }
+
+    public List<Movie> findByMinRating(double minRating) {
+        return find(new RatingFilterStrategy(minRating));
+    }
+
+    // Genre and rating criteria select the candidate postings; every criterion is
+    // then checked in one pass. Results keep catalog (id) order.
+    public List<Movie> find(MovieFilterStrategy filter) {
+        Snapshot current = snapshot();
+
+        // Start from the smallest of the genre postings and the rating range
+        List<Movie> candidates = current.byId;
+        boolean ratingOrdered = false;
+        for (MovieFilterStrategy part : filter.parts()) {
+            if (part instanceof GenreFilterStrategy genreFilter) {
+                List<Movie> postings = current.byGenre.getOrDefault(genreFilter.getGenre(), List.of());
+                if (postings.size() < candidates.size()) {
+                    candidates = postings;
+                    ratingOrdered = false;
+                }
+            } else if (part instanceof RatingFilterStrategy ratingFilter) {
+                double minRating = ratingFilter.getMinRating();
+                if (current.countAtLeast(minRating) < candidates.size()) {
+                    candidates = current.atLeast(minRating);
+                    ratingOrdered = true;
+                }
+            }
+        }
+
+        List<Movie> result = new ArrayList<>(candidates.size());
+        for (Movie movie : candidates) {
+            if (filter.matches(movie)) {
+                result.add(movie);
+            }
+        }
+        if (ratingOrdered) {
+            result.sort(BY_ID);
+        }
+        return result;
+    }
+
+    public int size() {
+        return snapshot().byId.size();
+    }
+
+    // Adds, replaces or (for inactive movies) removes one catalog entry
+    public synchronized void put(Movie movie) {
+        if (snapshot != null) {
+            snapshot = snapshot.replace(movie.getId(), Boolean.TRUE.equals(movie.getIsActive()) ? movie : null);
+        }
+    }
+
+    public synchronized void remove(Long movieId) {
+        if (snapshot != null) {
+            snapshot = snapshot.replace(movieId, null);
+        }
+    }
+
+    public synchronized void rebuild() {
+        snapshot = Snapshot.of(movieRepository.findByIsActiveTrue());
+        log.info("Movie catalog index built with {} active movies", snapshot.byId.size());
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    rebuild();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    static String fold(String genre) {
+        return genre == null ? "" : genre.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static double ratingOf(Movie movie) {
+        return movie.getRating() != null ? movie.getRating() : 0.0;
+    }
+
+    private static final class Snapshot {
+        private final List<Movie> byId;
+        private final Map<String, List<Movie>> byGenre;
+        private final Movie[] byRating;
+        private final double[] ratings;
+
+        private Snapshot(List<Movie> byId, Map<String, List<Movie>> byGenre, Movie[] byRating) {
+            this.byId = byId;
+            this.byGenre = byGenre;
+            this.byRating = byRating;
+            this.ratings = new double[byRating.length];
+            for (int i = 0; i < byRating.length; i++) {
+                ratings[i] = ratingOf(byRating[i]);
+            }
+        }
+
+        private static Snapshot of(Collection<Movie> movies) {
+            List<Movie> byId = movies.stream().sorted(BY_ID).toList();
+            Map<String, List<Movie>> byGenre = new HashMap<>();
+            for (Movie movie : byId) {
+                byGenre.computeIfAbsent(fold(movie.getGenre()), g -> new ArrayList<>()).add(movie);
+            }
+            byGenre.replaceAll((g, postings) -> List.copyOf(postings));
+            Movie[] byRating = byId.toArray(new Movie[0]);
+            Arrays.sort(byRating, BY_RATING);
+            return new Snapshot(byId, byGenre, byRating);
+        }
+
+        // Copy-on-write update: only the postings of the genres involved are rebuilt
+        private Snapshot replace(Long movieId, Movie replacement) {
+            List<Movie> byIdNext = new ArrayList<>(byId.size() + 1);
+            for (Movie m : byId) {
+                if (!m.getId().equals(movieId)) {
+                    byIdNext.add(m);
+                }
+            }
+
+            Map<String, List<Movie>> byGenreNext = new HashMap<>(byGenre);
+            byGenre.forEach((g, postings) -> {
+                if (postings.stream().anyMatch(m -> m.getId().equals(movieId))) {
+                    byGenreNext.put(g, postings.stream().filter(m -> !m.getId().equals(movieId)).toList());
+                }
+            });
+
+            List<Movie> byRatingNext = new ArrayList<>(byRating.length + 1);
+            for (Movie m : byRating) {
+                if (!m.getId().equals(movieId)) {
+                    byRatingNext.add(m);
+                }
+            }
+
+            if (replacement != null) {
+                byIdNext.add(-Collections.binarySearch(byIdNext, replacement, BY_ID) - 1, replacement);
+
+                List<Movie> postings = new ArrayList<>(byGenreNext.getOrDefault(fold(replacement.getGenre()), List.of()));
+                postings.add(-Collections.binarySearch(postings, replacement, BY_ID) - 1, replacement);
+                byGenreNext.put(fold(replacement.getGenre()), List.copyOf(postings));
+
+                byRatingNext.add(-Collections.binarySearch(byRatingNext, replacement, BY_RATING) - 1, replacement);
+            }
+            byGenreNext.values().removeIf(List::isEmpty);
+
+            return new Snapshot(List.copyOf(byIdNext), byGenreNext, byRatingNext.toArray(new Movie[0]));
+        }
+
+        private int lowerBound(double minRating) {
+            int lo = 0;
+            int hi = ratings.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (ratings[mid] < minRating) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        private int countAtLeast(double minRating) {
+            return ratings.length - lowerBound(minRating);
+        }
+
+        private List<Movie> atLeast(double minRating) {
+            return Arrays.asList(byRating).subList(lowerBound(minRating), byRating.length);
+        }
+    }
+}
@@ -1,12 +1,13 @@
 package com.cinema.service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import com.cinema.entity.Movie;
-import com.cinema.repository.MovieRepository;
 
 // STRATEGY PATTERN
 @Component
@@ -14,37 +15,54 @@ public class MovieFilterContext {
     private static final Logger log = LoggerFactory.getLogger(MovieFilterContext.class);
 
     @Autowired
-    private MovieRepository movieRepository;
+    private MovieService movieService;
 
     @Autowired
-    private GenreFilterStrategy genreFilterStrategy;
-
-    @Autowired
-    private RatingFilterStrategy ratingFilterStrategy;
+    private MovieCatalogIndex catalogIndex;
 
     public List<Movie> executeFilter(String filterType, String filterValue) {
         log.info("Executing filter: {} with value: {}", filterType, filterValue);
-        List<Movie> allMovies = movieRepository.findByIsActiveTrue();
         
         return switch (filterType.toUpperCase()) {
-            case "GENRE" -> {
-                genreFilterStrategy.setGenre(filterValue);
-                yield genreFilterStrategy.filter(allMovies);
-            }
+            case "GENRE" -> executeFilter(new GenreFilterStrategy(filterValue));
             case "RATING" -> {
                 try {
-                    Double minRating = Double.parseDouble(filterValue);
-                    ratingFilterStrategy.setMinRating(minRating);
-                    yield ratingFilterStrategy.filter(allMovies);
+                    double minRating = Double.parseDouble(filterValue);
+                    yield executeFilter(new RatingFilterStrategy(minRating));
                 } catch (NumberFormatException e) {
                     log.error("Invalid rating value: {}", filterValue);
-                    yield allMovies;
+                    yield movieService.getAllActiveMovies();
                 }
             }
             default -> {
                 log.warn("Unknown filter type: {}", filterType);
-                yield allMovies;
+                yield movieService.getAllActiveMovies();
             }
         };
     }
+
+    // Combined query, any criterion may be null
+    public List<Movie> executeFilter(String genre, Double minRating, LocalDateTime releasedFrom, LocalDateTime releasedTo) {
+        log.info("Executing combined filter: genre={}, minRating={}, released {} - {}",
+                 genre, minRating, releasedFrom, releasedTo);
+        List<MovieFilterStrategy> criteria = new ArrayList<>();
+        if (genre != null) {
+            criteria.add(new GenreFilterStrategy(genre));
+        }
+        if (minRating != null) {
+            criteria.add(new RatingFilterStrategy(minRating));
+        }
+        if (releasedFrom != null || releasedTo != null) {
+            criteria.add(new ReleaseDateFilterStrategy(releasedFrom, releasedTo));
+        }
+        if (criteria.isEmpty()) {
+            return movieService.getAllActiveMovies();
+        }
+        return executeFilter(CompositeFilterStrategy.of(criteria.toArray(new MovieFilterStrategy[0])));
+    }
+
+    // Strategies are built per request; the context itself holds no filter state
+    public List<Movie> executeFilter(MovieFilterStrategy strategy) {
+        return catalogIndex.find(strategy);
+    }
 }
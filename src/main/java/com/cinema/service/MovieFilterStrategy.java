@@ -4,7 +4,23 @@ import java.util.List;
 import com.cinema.entity.Movie;
 
 // STRATEGY PATTERN
+// Strategies are immutable values built per request, so concurrent requests never
+// share filter state. They compose with and() into a single-pass filter.
 public interface MovieFilterStrategy {
-    List<Movie> filter(List<Movie> movies);
+    boolean matches(Movie movie);
+
     String getFilterType();
+
+    default List<Movie> filter(List<Movie> movies) {
+        return movies.stream().filter(this::matches).toList();
+    }
+
+    default MovieFilterStrategy and(MovieFilterStrategy other) {
+        return CompositeFilterStrategy.of(this, other);
+    }
+
+    // The individual criteria, used by MovieCatalogIndex to pick an index
+    default List<MovieFilterStrategy> parts() {
+        return List.of(this);
+    }
 }
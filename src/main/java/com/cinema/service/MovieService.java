@@ -1,11 +1,14 @@
 package com.cinema.service;
 
+import com.cinema.config.CacheConfig;
 import com.cinema.entity.Movie;
 import com.cinema.dto.MovieDTO;
 import com.cinema.repository.MovieRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -20,26 +23,52 @@ public class MovieService {
     @Autowired
     private MovieRepository movieRepository;
 
+    @Autowired
+    private MovieCatalogIndex catalogIndex;
+
+    @Cacheable(CacheConfig.ACTIVE_MOVIES)
     public List<Movie> getAllActiveMovies() {
-        log.info("Fetching all active movies");
-        return movieRepository.findByIsActiveTrue();
+        log.debug("Fetching all active movies");
+        return List.copyOf(movieRepository.findByIsActiveTrue());
+    }
+
+    @Cacheable(CacheConfig.MOVIE_GENRES)
+    public List<String> getActiveGenres() {
+        log.debug("Fetching genres of active movies");
+        return movieRepository.findByIsActiveTrue().stream()
+                .map(Movie::getGenre)
+                .filter(g -> g != null && !g.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    @Cacheable(CacheConfig.MOVIE_DTOS)
+    public List<MovieDTO> getAllActiveMovieDTOs() {
+        log.debug("Fetching all active movie DTOs");
+        return movieRepository.findByIsActiveTrue().stream().map(this::convertToDTO).toList();
     }
 
     public Optional<Movie> getMovieById(Long id) {
-        log.info("Fetching movie with ID: {}", id);
+        log.debug("Fetching movie with ID: {}", id);
         return movieRepository.findById(id);
     }
 
     public List<Movie> getMoviesByGenre(String genre) {
-        log.info("Fetching movies by genre: {}", genre);
+        log.debug("Fetching movies by genre: {}", genre);
         return movieRepository.findByGenre(genre);
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.ACTIVE_MOVIES, CacheConfig.MOVIE_GENRES, CacheConfig.MOVIE_DTOS},
+                allEntries = true)
     public Movie createMovie(Movie movie) {
         log.info("Creating new movie: {}", movie.getTitle());
-        return movieRepository.save(movie);
+        Movie saved = movieRepository.save(movie);
+        catalogIndex.put(saved);
+        return saved;
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.ACTIVE_MOVIES, CacheConfig.MOVIE_GENRES, CacheConfig.MOVIE_DTOS},
+                allEntries = true)
     public Movie updateMovie(Long id, Movie movieDetails) {
         log.info("Updating movie with ID: {}", id);
         Optional<Movie> movie = movieRepository.findById(id);
@@ -49,11 +78,33 @@ public class MovieService {
             m.setDescription(movieDetails.getDescription());
             m.setGenre(movieDetails.getGenre());
             m.setRating(movieDetails.getRating());
-            return movieRepository.save(m);
+            Movie saved = movieRepository.save(m);
+            catalogIndex.put(saved);
+            return saved;
         }
         return null;
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.ACTIVE_MOVIES, CacheConfig.MOVIE_GENRES, CacheConfig.MOVIE_DTOS},
+                allEntries = true)
+    public Movie toggleMovieStatus(Long id) {
+        log.info("Toggling active status of movie with ID: {}", id);
+        Movie movie = movieRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Movie not found"));
+        movie.setIsActive(!movie.getIsActive());
+        Movie saved = movieRepository.save(movie);
+        catalogIndex.put(saved);
+        return saved;
+    }
+
+    @CacheEvict(cacheNames = {CacheConfig.ACTIVE_MOVIES, CacheConfig.MOVIE_GENRES, CacheConfig.MOVIE_DTOS},
+                allEntries = true)
+    public void deleteMovie(Long id) {
+        log.info("Deleting movie with ID: {}", id);
+        movieRepository.deleteById(id);
+        catalogIndex.remove(id);
+    }
+
     public MovieDTO convertToDTO(Movie movie) {
         MovieDTO dto = new MovieDTO();
         dto.setId(movie.getId());
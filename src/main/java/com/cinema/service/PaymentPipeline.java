@@ -0,0 +1,114 @@
+package com.cinema.service;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.cinema.entity.Booking;
+import com.cinema.payment.PaymentBulkhead;
+import com.cinema.payment.PaymentProcessor;
+import com.cinema.repository.BookingRepository;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+// Staged payment: the booking is already PENDING, the gateway charge runs in the
+// bulkhead of its payment method and BookingService confirms in a short second
+// transaction. A degraded gateway or a full bulkhead fails the payment at once;
+// the booking stays PENDING on its hold clock so the user can retry or let it expire.
+// A failure is kept until it is read or cinema.payment.state-ttl passes, whichever
+// comes first; a resubmit replaces it.
+@Service
+public class PaymentPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentPipeline.class);
+
+    public enum PaymentState {
+        PROCESSING,
+        FAILED
+    }
+
+    private ConcurrentMap<Long, PaymentState> states;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PaymentProcessor paymentProcessor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${cinema.payment.state-ttl:${cinema.booking.hold-ttl:10m}}")
+    private Duration stateTtl;
+
+    @PostConstruct
+    public void init() {
+        states = Caffeine.newBuilder()
+                .expireAfterWrite(stateTtl)
+                .<Long, PaymentState>build()
+                .asMap();
+    }
+
+    public void submit(Long bookingId, String transactionDetails) {
+        // Only a payment still in flight blocks a resubmit; an earlier failure is replaced
+        PaymentState previous = states.put(bookingId, PaymentState.PROCESSING);
+        if (previous == PaymentState.PROCESSING) {
+            log.warn("Payment already in progress for booking ID: {}", bookingId);
+            return;
+        }
+
+        Optional<Booking.PaymentMethod> method = bookingRepository.findPaymentMethodById(bookingId);
+        if (method.isEmpty()) {
+            log.error("Booking not found with ID: {}", bookingId);
+            states.put(bookingId, PaymentState.FAILED);
+            return;
+        }
+
+        PaymentBulkhead bulkhead = paymentProcessor.getBulkhead(method.get());
+        PaymentBulkhead.Admission admission = bulkhead.tryExecute(() -> run(bookingId, transactionDetails));
+        if (admission != PaymentBulkhead.Admission.ACCEPTED) {
+            log.error("Rejecting payment for booking ID: {}, {} bulkhead {}", bookingId, bulkhead.getName(),
+                      admission == PaymentBulkhead.Admission.FULL ? "is full" : "circuit is open");
+            meterRegistry.counter("cinema.payment.bulkhead.rejected",
+                    "method", bulkhead.getName(), "reason", admission.name().toLowerCase(Locale.ROOT)).increment();
+            states.put(bookingId, PaymentState.FAILED);
+        }
+    }
+
+    // A failure is reported once and then forgotten
+    public PaymentState getState(Long bookingId) {
+        PaymentState state = states.get(bookingId);
+        if (state == PaymentState.FAILED) {
+            states.remove(bookingId, state);
+        }
+        return state;
+    }
+
+    private void run(Long bookingId, String transactionDetails) {
+        boolean confirmed = false;
+        try {
+            confirmed = bookingService.processPaymentAndConfirmBooking(bookingId, transactionDetails);
+        } catch (RuntimeException e) {
+            log.error("Payment pipeline failed for booking ID: {}", bookingId, e);
+        }
+        // A confirmed booking is visible in the database, only failures need remembering
+        if (confirmed) {
+            states.remove(bookingId);
+        } else {
+            states.put(bookingId, PaymentState.FAILED);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.cinema.service;
+
+import java.time.LocalDateTime;
+
+import com.cinema.entity.Movie;
+
+// STRATEGY PATTERN
+public final class ReleaseDateFilterStrategy implements MovieFilterStrategy {
+    private final LocalDateTime releasedFrom;
+    private final LocalDateTime releasedTo;
+
+    // Either bound may be null for an open range
+    public ReleaseDateFilterStrategy(LocalDateTime releasedFrom, LocalDateTime releasedTo) {
+        this.releasedFrom = releasedFrom;
+        this.releasedTo = releasedTo;
+    }
+
+    @Override
+    public boolean matches(Movie movie) {
+        LocalDateTime releaseDate = movie.getReleaseDate();
+        if (releaseDate == null) {
+            return false;
+        }
+        return (releasedFrom == null || !releaseDate.isBefore(releasedFrom))
+                && (releasedTo == null || !releaseDate.isAfter(releasedTo));
+    }
+
+    @Override
+    public String getFilterType() {
+        return "RELEASE_DATE";
+    }
+}
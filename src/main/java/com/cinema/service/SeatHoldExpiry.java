@@ -0,0 +1,143 @@
+package com.cinema.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.cinema.entity.Booking;
+import com.cinema.repository.BookingRepository;
+import com.cinema.seatmap.HashedTimingWheel;
+
+// Expires the seat holds of abandoned PENDING bookings. Deadlines are stored on
+// the booking (holdExpiresAt) and mirrored in a timing wheel; the sweep expires
+// due bookings in batches and releases their seats. The wheel is rebuilt from
+// the database on startup.
+@Component
+public class SeatHoldExpiry {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatHoldExpiry.class);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private SeatService seatService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${cinema.booking.hold-ttl:10m}")
+    private Duration holdTtl;
+
+    @Value("${cinema.booking.hold-sweep-batch-size:200}")
+    private int batchSize;
+
+    private final HashedTimingWheel<Long> wheel;
+
+    public SeatHoldExpiry(@Value("${cinema.booking.hold-tick-ms:1000}") long tickMillis,
+                          @Value("${cinema.booking.hold-wheel-size:1024}") int wheelSize) {
+        this.wheel = new HashedTimingWheel<>(tickMillis, wheelSize, System.currentTimeMillis());
+    }
+
+    public LocalDateTime newDeadline() {
+        return LocalDateTime.now().plus(holdTtl);
+    }
+
+    public void schedule(Long bookingId, LocalDateTime deadline) {
+        wheel.schedule(bookingId, toMillis(deadline));
+    }
+
+    public void cancel(Long bookingId) {
+        wheel.cancel(bookingId);
+    }
+
+    public int getScheduledCount() {
+        return wheel.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        List<BookingRepository.PendingHold> holds = bookingRepository.findPendingHolds();
+        for (BookingRepository.PendingHold hold : holds) {
+            schedule(hold.getId(), deadlineOf(hold));
+        }
+        log.info("Recovered {} outstanding seat holds", holds.size());
+    }
+
+    @Scheduled(fixedDelayString = "${cinema.booking.hold-tick-ms:1000}")
+    public void sweep() {
+        List<Long> due = wheel.advance(System.currentTimeMillis());
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<Long> batch = due.subList(from, Math.min(from + batchSize, due.size()));
+            try {
+                transactionTemplate.executeWithoutResult(tx -> expire(batch));
+            } catch (RuntimeException e) {
+                log.error("Failed to expire seat holds {}: {}", batch, e.getMessage());
+                batch.forEach(id -> wheel.schedule(id, System.currentTimeMillis()));
+            }
+        }
+    }
+
+    private void expire(List<Long> bookingIds) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> dueIds = new ArrayList<>();
+        Map<Long, Long> showtimeByBooking = new HashMap<>();
+        for (BookingRepository.PendingHold hold : bookingRepository.findPendingHolds(bookingIds)) {
+            LocalDateTime deadline = deadlineOf(hold);
+            if (deadline.isAfter(now)) {
+                // Deadline was pushed back since it was scheduled
+                schedule(hold.getId(), deadline);
+                continue;
+            }
+            dueIds.add(hold.getId());
+            showtimeByBooking.put(hold.getId(), hold.getShowtimeId());
+        }
+        if (dueIds.isEmpty()) {
+            return;
+        }
+
+        bookingRepository.expirePending(dueIds, now);
+        List<Long> expiredIds = bookingRepository.findIdsByStatus(dueIds, Booking.BookingStatus.EXPIRED);
+        if (expiredIds.isEmpty()) {
+            return;
+        }
+
+        // Released per booking: seats one booking no longer holds must not keep the others held
+        Map<Long, List<Long>> seatsByBooking = new HashMap<>();
+        for (BookingRepository.BookingSeatRef ref : bookingRepository.findSeatRefs(expiredIds)) {
+            seatsByBooking.computeIfAbsent(ref.getBookingId(), id -> new ArrayList<>()).add(ref.getSeatId());
+        }
+        int released = 0;
+        for (Map.Entry<Long, List<Long>> entry : seatsByBooking.entrySet()) {
+            if (seatService.releaseSeats(showtimeByBooking.get(entry.getKey()), entry.getValue())) {
+                released++;
+            } else {
+                log.error("Expired booking {} did not hold all of its seats {}", entry.getKey(), entry.getValue());
+            }
+        }
+        log.info("Expired {} abandoned bookings, released seats of {}", expiredIds.size(), released);
+    }
+
+    // Bookings created before hold deadlines were stored expire relative to their booking date
+    private LocalDateTime deadlineOf(BookingRepository.PendingHold hold) {
+        return hold.getHoldExpiresAt() != null ? hold.getHoldExpiresAt() : hold.getBookingDate().plus(holdTtl);
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -1,18 +1,49 @@
 package com.cinema.service;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiPredicate;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.cinema.dto.SeatDTO;
 import com.cinema.entity.Seat;
+import com.cinema.entity.Showtime;
 import com.cinema.repository.SeatRepository;
+import com.cinema.repository.ShowtimeRepository;
+import com.cinema.seatmap.HallLayout;
+import com.cinema.seatmap.SeatMapEngine;
+import com.cinema.seatmap.SeatStatusBroadcaster;
+import com.cinema.seatmap.ShowtimeSeatMap;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 
 // SINGLETON PATTERN
 @Service
@@ -23,79 +54,450 @@ public class SeatService {
     @Autowired
     private SeatRepository seatRepository;
 
+    @Autowired
+    private SeatMapEngine seatMapEngine;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private HallLayoutService hallLayoutService;
+
+    @Autowired
+    private SeatStatusBroadcaster seatStatusBroadcaster;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${cinema.seat.max-transition-attempts:3}")
+    private int maxTransitionAttempts;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int insertBatchSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${cinema.seatmap.layout-snapshot-ttl:2s}")
+    private Duration layoutSnapshotTtl;
+
+    private Cache<Long, LayoutSnapshot> layoutSnapshots;
+    private final Map<Long, AtomicLong> layoutGenerations = new ConcurrentHashMap<>();
+
+    private Timer holdTimer;
+    private Timer singleReserveTimer;
+    private Counter holdFailedCounter;
+    private Counter doubleSellCounter;
+
+    @PostConstruct
+    public void init() {
+        layoutSnapshots = Caffeine.newBuilder()
+                .expireAfterWrite(layoutSnapshotTtl)
+                .build();
+        holdTimer = reservationTimer("hold");
+        singleReserveTimer = reservationTimer("single");
+        holdFailedCounter = Counter.builder("cinema.seat.hold.failed")
+                .description("Seat holds rejected because a requested seat was taken")
+                .register(meterRegistry);
+        doubleSellCounter = Counter.builder("cinema.seat.double_sell.rejected")
+                .description("Attempts to reserve or sell a seat that was already sold")
+                .register(meterRegistry);
+    }
+
+    // Recorded per seat, so holds of different sizes are comparable
+    private Timer reservationTimer(String mode) {
+        return Timer.builder("cinema.seat.reservation")
+                .description("Seat reservation latency per seat")
+                .tag("mode", mode)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
     public List<Seat> getAvailableSeats(Long showtimeId) {
-        log.info("Fetching available seats for showtime ID: {}", showtimeId);
+        log.debug("Fetching available seats for showtime ID: {}", showtimeId);
         return seatRepository.findByShowtimeIdAndStatus(showtimeId, Seat.SeatStatus.AVAILABLE);
     }
 
     public List<Seat> getSeatsByShowtimeId(Long showtimeId) {
-        log.info("Fetching all seats for showtime ID: {}", showtimeId);
+        log.debug("Fetching all seats for showtime ID: {}", showtimeId);
         return seatRepository.findByShowtimeId(showtimeId);
     }
 
+    // Single-flight: concurrent requests for one showtime share a single load and the
+    // resulting snapshot. A snapshot is served while its seat map version (or, without
+    // the engine, the showtime's transition generation) is unchanged and it is younger
+    // than the TTL; a stale one is dropped and the next load is again shared.
+    public List<SeatDTO> getSeatLayout(Long showtimeId) {
+        LayoutSnapshot snapshot = layoutSnapshots.getIfPresent(showtimeId);
+        if (snapshot != null) {
+            if (isCurrent(showtimeId, snapshot)) {
+                return snapshot.seats;
+            }
+            layoutSnapshots.asMap().remove(showtimeId, snapshot);
+        }
+        return layoutSnapshots.get(showtimeId, this::loadSeatLayout).seats;
+    }
+
+    private boolean isCurrent(Long showtimeId, LayoutSnapshot snapshot) {
+        if (seatMapEngine.isEnabled()) {
+            ShowtimeSeatMap seatMap = seatMapEngine.getSeatMap(showtimeId);
+            return snapshot.seatMap == seatMap && snapshot.version == seatMap.getVersion();
+        }
+        return snapshot.version == layoutGeneration(showtimeId);
+    }
+
+    // The version is read before the statuses, so a snapshot is never labelled newer than its data
+    private LayoutSnapshot loadSeatLayout(Long showtimeId) {
+        Optional<Showtime> showtime = showtimeRepository.findById(showtimeId);
+        if (showtime.isEmpty()) {
+            return new LayoutSnapshot(null, layoutGeneration(showtimeId), List.of());
+        }
+        HallLayout layout = layoutFor(showtime.get());
+
+        if (!seatMapEngine.isEnabled()) {
+            long generation = layoutGeneration(showtimeId);
+            List<SeatDTO> seats = new ArrayList<>();
+            for (SeatRepository.SeatLayoutRow row : seatRepository.findLayoutRows(showtimeId)) {
+                SeatDTO dto = new SeatDTO(row.getId(), showtimeId, row.getSeatNumber(), row.getRowNumber(),
+                                          row.getColumnNumber(), row.getStatus().name(), row.getBookingId());
+                HallLayout.Position position = layout.position(row.getSeatNumber());
+                dto.setSeatType(position != null ? position.getSeatType().name() : HallLayout.SeatType.STANDARD.name());
+                dto.setAisleAfter(position != null && position.isAisleAfter());
+                seats.add(dto);
+            }
+            return new LayoutSnapshot(null, generation, List.copyOf(seats));
+        }
+
+        ShowtimeSeatMap seatMap = seatMapEngine.getSeatMap(showtimeId);
+        long version = seatMap.getVersion();
+        Seat.SeatStatus[] statuses = seatMap.statuses();
+        List<SeatDTO> seats = new ArrayList<>(statuses.length);
+        for (int slot = 0; slot < statuses.length; slot++) {
+            HallLayout.Position position = layout.position(seatMap.seatNumberAt(slot));
+            if (position == null) {
+                log.warn("Seat {} of showtime {} is not part of its hall layout", seatMap.seatNumberAt(slot), showtimeId);
+                continue;
+            }
+            SeatDTO dto = new SeatDTO();
+            dto.setId(seatMap.seatIdAt(slot));
+            dto.setShowtimeId(showtimeId);
+            applyPosition(dto, position);
+            dto.setStatus(statuses[slot].name());
+            seats.add(dto);
+        }
+        seats.sort(Comparator.comparing(SeatDTO::getRowNumber).thenComparing(SeatDTO::getColumnNumber));
+        return new LayoutSnapshot(seatMap, version, List.copyOf(seats));
+    }
+
+    private long layoutGeneration(Long showtimeId) {
+        AtomicLong generation = layoutGenerations.get(showtimeId);
+        return generation != null ? generation.get() : 0L;
+    }
+
+    // Only needed without the seat map engine, whose own version covers every transition
+    private void invalidateLayout(Long showtimeId) {
+        layoutGenerations.computeIfAbsent(showtimeId, id -> new AtomicLong()).incrementAndGet();
+    }
+
+    public HallLayout layoutFor(Showtime showtime) {
+        return hallLayoutService.getHallLayout(showtime.getHall())
+                .orElseGet(() -> HallLayout.uniform(showtime.getTotalSeats()));
+    }
+
     public Optional<Seat> getSeatById(Long id) {
-        log.info("Fetching seat with ID: {}", id);
+        log.debug("Fetching seat with ID: {}", id);
         return seatRepository.findById(id);
     }
 
     @Transactional
     public boolean reserveSeat(Long seatId) {
-        log.info("Reserving seat ID: {}", seatId);
-        Optional<Seat> seat = seatRepository.findById(seatId);
-        if (seat.isEmpty()) {
+        log.debug("Reserving seat ID: {}", seatId);
+        long start = System.nanoTime();
+        try {
+            return seatMapEngine.isEnabled()
+                    ? applyInSeatMap(seatId, this::holdInSeatMap)
+                    : transitionSeat(seatId, Seat.SeatStatus.RESERVED);
+        } finally {
+            singleReserveTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Transactional
+    public boolean confirmSeat(Long seatId) {
+        log.debug("Confirming seat ID: {}", seatId);
+        return seatMapEngine.isEnabled()
+                ? applyInSeatMap(seatId, this::confirmSeats)
+                : transitionSeat(seatId, Seat.SeatStatus.SOLD);
+    }
+
+    @Transactional
+    public boolean releaseSeat(Long seatId) {
+        log.debug("Releasing seat ID: {}", seatId);
+        return seatMapEngine.isEnabled()
+                ? applyInSeatMap(seatId, this::releaseSeats)
+                : transitionSeat(seatId, Seat.SeatStatus.AVAILABLE);
+    }
+
+    // With the engine enabled the seat map owns seat state, so a single seat goes
+    // through the same path as a list of one; writing the row here would be
+    // overwritten by the next flush and bypass the map's own checks.
+    private boolean applyInSeatMap(Long seatId, BiPredicate<Long, List<Long>> transition) {
+        Optional<SeatRepository.SeatState> state = seatRepository.findStateById(seatId);
+        if (state.isEmpty()) {
             log.warn("Seat not found with ID: {}", seatId);
             return false;
         }
+        return transition.test(state.get().getShowtimeId(), List.of(seatId));
+    }
+
+    // STATE PATTERN
+    // Without the engine: read status and version, then one conditional UPDATE
+    // keyed on that version. Losing a race re-reads and retries a bounded number of
+    // times; a transition the state machine forbids fails at once.
+    private boolean transitionSeat(Long seatId, Seat.SeatStatus target) {
+        for (int attempt = 1; attempt <= maxTransitionAttempts; attempt++) {
+            Optional<SeatRepository.SeatState> state = seatRepository.findStateById(seatId);
+            if (state.isEmpty()) {
+                log.warn("Seat not found with ID: {}", seatId);
+                return false;
+            }
+
+            Seat.SeatStatus current = state.get().getStatus();
+            if (!current.canMoveTo(target)) {
+                log.error("Cannot move seat {} from {} to {}", seatId, current, target);
+                if (current == Seat.SeatStatus.SOLD) {
+                    doubleSellCounter.increment();
+                }
+                return false;
+            }
+
+            long version = state.get().getVersion();
+            int updated = target == Seat.SeatStatus.AVAILABLE
+                    ? seatRepository.releaseIfVersion(seatId, version)
+                    : seatRepository.transition(seatId, version, target);
+            if (updated == 1) {
+                log.debug("Seat {} moved from {} to {}", seatId, current, target);
+                Long showtimeId = state.get().getShowtimeId();
+                adjustAvailableSeats(showtimeId,
+                        (target == Seat.SeatStatus.AVAILABLE ? 1 : 0) - (current == Seat.SeatStatus.AVAILABLE ? 1 : 0));
+                invalidateLayout(showtimeId);
+                afterCommit(() -> seatStatusBroadcaster.publish(showtimeId, List.of(seatId), target));
+                return true;
+            }
+            log.warn("Seat {} changed concurrently, retrying (attempt {})", seatId, attempt);
+        }
+        log.error("Giving up on seat {} after {} attempts", seatId, maxTransitionAttempts);
+        return false;
+    }
 
+    // Holds every seat or none. With the seat map engine enabled this is a single
+    // in-memory compare-and-set; the hold is dropped again if the caller's transaction rolls back.
+    @Transactional
+    public boolean holdSeats(Long showtimeId, List<Long> seatIds) {
+        long start = System.nanoTime();
+        boolean held = false;
         try {
-            seat.get().reserveSeat();
-            seatRepository.save(seat.get());
-            log.info("Seat reserved successfully: {}", seatId);
-            return true;
-        } catch (IllegalStateException e) {
-            log.error("Cannot reserve seat: {}", e.getMessage());
+            held = seatMapEngine.isEnabled() ? holdInSeatMap(showtimeId, seatIds) : reserveSeats(showtimeId, seatIds);
+            return held;
+        } finally {
+            if (!seatIds.isEmpty()) {
+                holdTimer.record((System.nanoTime() - start) / seatIds.size(), TimeUnit.NANOSECONDS);
+            }
+            if (!held) {
+                holdFailedCounter.increment();
+            }
+        }
+    }
+
+    private boolean holdInSeatMap(Long showtimeId, List<Long> seatIds) {
+        if (!seatMapEngine.hold(showtimeId, seatIds)) {
+            if (countInStatus(showtimeId, seatIds, Seat.SeatStatus.SOLD) > 0) {
+                doubleSellCounter.increment();
+            }
             return false;
         }
+        onRollback(() -> seatMapEngine.release(showtimeId, seatIds));
+        adjustAvailableSeats(showtimeId, -(int) seatIds.stream().distinct().count());
+        return true;
     }
 
+    // Set-based reservation: one conditional UPDATE for the whole list. If fewer rows
+    // change than were requested, some seat was taken and the transaction is rolled back.
     @Transactional
-    public boolean confirmSeat(Long seatId) {
-        log.info("Confirming seat ID: {}", seatId);
-        Optional<Seat> seat = seatRepository.findById(seatId);
-        if (seat.isEmpty()) {
-            log.warn("Seat not found with ID: {}", seatId);
+    public boolean reserveSeats(Long showtimeId, List<Long> seatIds) {
+        List<Long> distinctIds = seatIds.stream().distinct().toList();
+        if (distinctIds.isEmpty()) {
             return false;
         }
 
-        try {
-            seat.get().confirmSeat();
-            seatRepository.save(seat.get());
-            log.info("Seat confirmed successfully: {}", seatId);
-            return true;
-        } catch (IllegalStateException e) {
-            log.error("Cannot confirm seat: {}", e.getMessage());
+        int reserved = seatRepository.reserveAvailable(showtimeId, distinctIds);
+        if (reserved != distinctIds.size()) {
+            log.error("Cannot reserve seats {}: only {} of {} were available",
+                      distinctIds, reserved, distinctIds.size());
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
             return false;
         }
+        log.info("Reserved {} seats for showtime ID: {}", reserved, showtimeId);
+        invalidateLayout(showtimeId);
+        adjustAvailableSeats(showtimeId, -reserved);
+        afterCommit(() -> seatStatusBroadcaster.publish(showtimeId, distinctIds, Seat.SeatStatus.RESERVED));
+        return true;
     }
 
+    // RESERVED -> SOLD for every seat, or false if any of them is not currently held.
+    // Rolling back is left to the caller.
     @Transactional
-    public boolean releaseSeat(Long seatId) {
-        log.info("Releasing seat ID: {}", seatId);
-        Optional<Seat> seat = seatRepository.findById(seatId);
-        if (seat.isEmpty()) {
-            log.warn("Seat not found with ID: {}", seatId);
+    public boolean confirmSeats(Long showtimeId, List<Long> seatIds) {
+        List<Long> distinctIds = seatIds.stream().distinct().toList();
+        if (!seatMapEngine.isEnabled()) {
+            int confirmed = distinctIds.isEmpty() ? 0 : seatRepository.confirmReserved(showtimeId, distinctIds);
+            if (confirmed != distinctIds.size()) {
+                log.error("Cannot confirm seats {}: only {} of {} were held", distinctIds, confirmed, distinctIds.size());
+                if (seatRepository.findStatuses(showtimeId, distinctIds).stream()
+                        .anyMatch(ref -> ref.getStatus() == Seat.SeatStatus.SOLD)) {
+                    doubleSellCounter.increment();
+                }
+                return false;
+            }
+            log.info("Confirmed {} seats for showtime ID: {}", confirmed, showtimeId);
+            invalidateLayout(showtimeId);
+            afterCommit(() -> seatStatusBroadcaster.publish(showtimeId, distinctIds, Seat.SeatStatus.SOLD));
+            return true;
+        }
+        // Applied before the caller commits, so a paid booking never commits with seats
+        // that are only held; undone if its transaction rolls back
+        if (distinctIds.isEmpty() || !seatMapEngine.confirm(showtimeId, distinctIds)) {
+            log.error("Cannot confirm seats {} of showtime {}: not all of them are held", distinctIds, showtimeId);
+            if (countInStatus(showtimeId, distinctIds, Seat.SeatStatus.SOLD) > 0) {
+                doubleSellCounter.increment();
+            }
             return false;
         }
+        onRollback(() -> {
+            if (!seatMapEngine.unconfirm(showtimeId, distinctIds)) {
+                log.error("Seats {} of showtime {} changed before their confirmation was undone", distinctIds, showtimeId);
+            }
+        });
+        return true;
+    }
 
-        try {
-            seat.get().releaseSeat();
-            seatRepository.save(seat.get());
-            log.info("Seat released successfully: {}", seatId);
+    // RESERVED -> AVAILABLE for every seat, or false if any of them is not currently held.
+    // Rolling back is left to the caller.
+    @Transactional
+    public boolean releaseSeats(Long showtimeId, List<Long> seatIds) {
+        List<Long> distinctIds = seatIds.stream().distinct().toList();
+        if (!seatMapEngine.isEnabled()) {
+            int released = distinctIds.isEmpty() ? 0 : seatRepository.releaseReserved(showtimeId, distinctIds);
+            adjustAvailableSeats(showtimeId, released);
+            invalidateLayout(showtimeId);
+            afterCommit(() -> publishStatuses(showtimeId, distinctIds));
+            if (released != distinctIds.size()) {
+                log.error("Cannot release seats {}: only {} of {} were held", distinctIds, released, distinctIds.size());
+                return false;
+            }
+            log.info("Released {} seats for showtime ID: {}", released, showtimeId);
             return true;
-        } catch (IllegalStateException e) {
-            log.error("Cannot release seat: {}", e.getMessage());
+        }
+        // Same as confirming: released now, held again if the caller's transaction rolls back
+        if (distinctIds.isEmpty() || !seatMapEngine.release(showtimeId, distinctIds)) {
+            log.error("Cannot release seats {} of showtime {}: not all of them are held", distinctIds, showtimeId);
             return false;
         }
+        onRollback(() -> {
+            if (!seatMapEngine.hold(showtimeId, distinctIds)) {
+                log.error("Seats {} of showtime {} were taken before their release was undone", distinctIds, showtimeId);
+            }
+        });
+        adjustAvailableSeats(showtimeId, distinctIds.size());
+        return true;
+    }
+
+    // Showtime.availableSeats moves with every transition in the same transaction,
+    // so listings read the counter instead of counting seat rows.
+    private void adjustAvailableSeats(Long showtimeId, int delta) {
+        if (delta != 0) {
+            showtimeRepository.adjustAvailableSeats(showtimeId, delta);
+        }
+    }
+
+    private int countInStatus(Long showtimeId, List<Long> seatIds, Seat.SeatStatus status) {
+        ShowtimeSeatMap seatMap = seatMapEngine.getSeatMap(showtimeId);
+        return (int) seatIds.stream().distinct().filter(id -> seatMap.statusOf(id) == status).count();
+    }
+
+    public Seat.SeatStatus getSeatStatus(Seat seat) {
+        if (!seatMapEngine.isEnabled()) {
+            return seat.getStatus();
+        }
+        Seat.SeatStatus status = seatMapEngine.statusOf(seat.getShowtime().getId(), seat.getId());
+        return status != null ? status : seat.getStatus();
+    }
+
+    // Live availability for the seat picker; the first event lists every taken seat
+    public SseEmitter watchSeats(Long showtimeId) {
+        return seatStatusBroadcaster.subscribe(showtimeId, () -> getTakenSeats(showtimeId));
+    }
+
+    public Map<Seat.SeatStatus, List<Long>> getTakenSeats(Long showtimeId) {
+        Map<Seat.SeatStatus, List<Long>> taken = new EnumMap<>(Seat.SeatStatus.class);
+        if (seatMapEngine.isEnabled()) {
+            ShowtimeSeatMap seatMap = seatMapEngine.getSeatMap(showtimeId);
+            Seat.SeatStatus[] statuses = seatMap.statuses();
+            for (int slot = 0; slot < statuses.length; slot++) {
+                if (statuses[slot] != Seat.SeatStatus.AVAILABLE) {
+                    taken.computeIfAbsent(statuses[slot], st -> new ArrayList<>()).add(seatMap.seatIdAt(slot));
+                }
+            }
+        } else {
+            for (SeatRepository.SeatStatusRef ref : seatRepository.findTaken(showtimeId)) {
+                taken.computeIfAbsent(ref.getStatus(), st -> new ArrayList<>()).add(ref.getId());
+            }
+        }
+        return taken;
+    }
+
+    // A partial release leaves some seats as they were, so watchers get the statuses read back from the table
+    private void publishStatuses(Long showtimeId, List<Long> seatIds) {
+        if (!seatStatusBroadcaster.hasWatchers(showtimeId)) {
+            return;
+        }
+        Map<Long, Seat.SeatStatus> statuses = new HashMap<>();
+        for (SeatRepository.SeatStatusRef ref : seatRepository.findStatuses(showtimeId, seatIds)) {
+            statuses.put(ref.getId(), ref.getStatus());
+        }
+        seatStatusBroadcaster.publish(showtimeId, statuses);
+    }
+
+    public void evictSeatMap(Long showtimeId) {
+        seatMapEngine.evict(showtimeId);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // Compensates an in-memory transition the surrounding transaction did not commit
+    private void onRollback(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
     }
 
     public Seat createSeat(Seat seat) {
@@ -103,36 +505,76 @@ public class SeatService {
         return seatRepository.save(seat);
     }
 
-   @Transactional
-public void initializeSeatsForShowtime(com.cinema.entity.Showtime showtime) {
-    log.info("Initializing seats for showtime ID: {} with {} total seats", 
-             showtime.getId(), showtime.getTotalSeats());
-    
-    seatRepository.deleteByShowtimeId(showtime.getId());
-
-    List<Seat> seatsToSave = new ArrayList<>();
-    Integer totalSeats = showtime.getTotalSeats();
-    int seatsPerRow = 10; 
-    int numRows = (int) Math.ceil((double) totalSeats / seatsPerRow);
-    
-    int seatCounter = 1;
-    for (int row = 1; row <= numRows; row++) {
-        for (int col = 1; col <= seatsPerRow && seatCounter <= totalSeats; col++) {
-            String seatNumber = String.valueOf((char) ('A' + row - 1)) + col;
-            Seat seat = new Seat();
-            seat.setShowtime(showtime);
-            seat.setSeatNumber(seatNumber);
-            seat.setRowNumber(row);
-            seat.setColumnNumber(col);
-            seat.setStatus(Seat.SeatStatus.AVAILABLE);
-            seatsToSave.add(seat);
-            seatCounter++;
-        }
-    }
-    
-    seatRepository.saveAll(seatsToSave);
-    log.info("Initialized {} seats for showtime ID: {}", seatsToSave.size(), showtime.getId());
-}
+    @Transactional
+    public void initializeSeatsForShowtime(Showtime showtime) {
+        initializeSeatsForShowtimes(List.of(showtime));
+    }
+
+    // Bulk provisioning: one DELETE for all showtimes, then JDBC-batched inserts
+    // (sequence ids, hibernate.jdbc.batch_size). The persistence context is
+    // flushed and cleared per batch so large halls do not pile up managed entities.
+    @Transactional
+    public int initializeSeatsForShowtimes(Collection<Showtime> showtimes) {
+        if (showtimes.isEmpty()) {
+            return 0;
+        }
+        List<Long> showtimeIds = showtimes.stream().map(Showtime::getId).toList();
+        int deleted = seatRepository.deleteByShowtimeIdIn(showtimeIds);
+        log.info("Initializing seats for {} showtimes, removed {} existing seats", showtimeIds.size(), deleted);
+
+        int created = 0;
+        Map<Showtime, Integer> seatCounts = new HashMap<>();
+        for (Showtime showtime : showtimes) {
+            int totalSeats = showtime.getTotalSeats();
+            List<HallLayout.Position> positions = layoutFor(showtime).positions(totalSeats);
+            if (positions.size() < totalSeats) {
+                log.warn("Hall {} has only {} seats, showtime {} asked for {}",
+                         showtime.getHall(), positions.size(), showtime.getId(), totalSeats);
+            }
+            seatCounts.put(showtime, positions.size());
+            for (HallLayout.Position position : positions) {
+                entityManager.persist(new Seat(showtime, position.getSeatNumber(),
+                                               position.getRowNumber(), position.getColumnNumber()));
+                if (++created % insertBatchSize == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // Fresh seats are all available; the counter starts from what was actually generated
+        seatCounts.forEach((showtime, seats) -> {
+            showtime.setAvailableSeats(seats);
+            showtimeRepository.setAvailableSeats(showtime.getId(), seats);
+        });
+        showtimeIds.forEach(seatMapEngine::evict);
+        showtimeIds.forEach(this::invalidateLayout);
+        log.info("Initialized {} seats for {} showtimes", created, showtimeIds.size());
+        return created;
+    }
+
+    private static final class LayoutSnapshot {
+        private final ShowtimeSeatMap seatMap;
+        private final long version;
+        private final List<SeatDTO> seats;
+
+        private LayoutSnapshot(ShowtimeSeatMap seatMap, long version, List<SeatDTO> seats) {
+            this.seatMap = seatMap;
+            this.version = version;
+            this.seats = seats;
+        }
+    }
+
+    private static void applyPosition(SeatDTO dto, HallLayout.Position position) {
+        dto.setSeatNumber(position.getSeatNumber());
+        dto.setRowNumber(position.getRowNumber());
+        dto.setColumnNumber(position.getColumnNumber());
+        dto.setSeatType(position.getSeatType().name());
+        dto.setAisleAfter(position.isAisleAfter());
+    }
+
     public SeatDTO convertToDTO(Seat seat) {
         SeatDTO dto = new SeatDTO();
         dto.setId(seat.getId());
@@ -140,7 +582,13 @@ public void initializeSeatsForShowtime(com.cinema.entity.Showtime showtime) {
         dto.setSeatNumber(seat.getSeatNumber());
         dto.setRowNumber(seat.getRowNumber());
         dto.setColumnNumber(seat.getColumnNumber());
-        dto.setStatus(seat.getStatus().name());
+        // Showtimes without a hall template use the plain grid: standard seats, no aisles
+        HallLayout.Position position = hallLayoutService.getHallLayout(seat.getShowtime().getHall())
+                .map(layout -> layout.position(seat.getSeatNumber()))
+                .orElse(null);
+        dto.setSeatType(position != null ? position.getSeatType().name() : HallLayout.SeatType.STANDARD.name());
+        dto.setAisleAfter(position != null && position.isAisleAfter());
+        dto.setStatus(getSeatStatus(seat).name());
         dto.setBookingId(seat.getBooking() != null ? seat.getBooking().getId() : null);
         return dto;
     }
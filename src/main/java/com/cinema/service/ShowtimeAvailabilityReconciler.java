@@ -0,0 +1,118 @@
+package com.cinema.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.cinema.repository.SeatRepository;
+import com.cinema.repository.ShowtimeRepository;
+import com.cinema.seatmap.SeatMapEngine;
+import com.cinema.seatmap.ShowtimeSeatMap;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+// Compares Showtime.availableSeats with the real seat states and repairs drift.
+// A booking in flight has already moved its seats but not yet committed the
+// counter, so a mismatch is only corrected once two runs in a row observe it.
+@Component
+public class ShowtimeAvailabilityReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(ShowtimeAvailabilityReconciler.class);
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private SeatMapEngine seatMapEngine;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Showtimes that started this long ago are still checked, e.g. for late cancellations
+    @Value("${cinema.showtime.reconcile-lookback:6h}")
+    private Duration lookback;
+
+    private Map<Long, Drift> suspects = new HashMap<>();
+    private Counter correctedCounter;
+
+    @PostConstruct
+    public void init() {
+        correctedCounter = Counter.builder("cinema.showtime.availability.corrected")
+                .description("Showtime available-seat counters repaired by reconciliation")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${cinema.showtime.reconcile-interval-ms:60000}",
+               initialDelayString = "${cinema.showtime.reconcile-interval-ms:60000}")
+    public synchronized int reconcile() {
+        List<ShowtimeRepository.AvailabilityCounter> counters =
+                showtimeRepository.findCountersByShowTimeAfter(LocalDateTime.now().minus(lookback));
+        if (counters.isEmpty()) {
+            suspects.clear();
+            return 0;
+        }
+
+        // Loaded seat maps are ahead of the seats table (write-behind); use them where present
+        Map<Long, ShowtimeSeatMap> seatMaps = new HashMap<>();
+        if (seatMapEngine.isEnabled()) {
+            seatMapEngine.loadedSeatMaps().forEach(seatMap -> seatMaps.put(seatMap.getShowtimeId(), seatMap));
+        }
+        Map<Long, Long> seatCounts = new HashMap<>();
+        List<Long> ids = counters.stream().map(ShowtimeRepository.AvailabilityCounter::getId).toList();
+        for (SeatRepository.AvailableCount count : seatRepository.countAvailableByShowtimeIds(ids)) {
+            seatCounts.put(count.getShowtimeId(), count.getAvailable());
+        }
+
+        Map<Long, Drift> observed = new HashMap<>();
+        int corrected = 0;
+        for (ShowtimeRepository.AvailabilityCounter counter : counters) {
+            Long id = counter.getId();
+            ShowtimeSeatMap seatMap = seatMaps.get(id);
+            int actual = seatMap != null ? seatMap.availableCount() : seatCounts.getOrDefault(id, 0L).intValue();
+            Integer recorded = counter.getAvailableSeats();
+            if (recorded != null && recorded == actual) {
+                continue;
+            }
+
+            Drift drift = new Drift(recorded, actual);
+            if (!drift.equals(suspects.get(id))) {
+                log.debug("Showtime {} counter {} differs from {} available seats, rechecking next run",
+                          id, recorded, actual);
+                observed.put(id, drift);
+                continue;
+            }
+
+            Integer updated = transactionTemplate.execute(tx -> recorded == null
+                    ? showtimeRepository.setAvailableSeats(id, actual)
+                    : showtimeRepository.correctAvailableSeats(id, recorded, actual));
+            if (updated != null && updated == 1) {
+                log.warn("Corrected available seats of showtime {} from {} to {}", id, recorded, actual);
+                correctedCounter.increment();
+                corrected++;
+            }
+        }
+        suspects = observed;
+        return corrected;
+    }
+
+    private record Drift(Integer recorded, int actual) {
+    }
+}
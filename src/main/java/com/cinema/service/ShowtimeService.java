@@ -7,6 +7,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -21,18 +22,21 @@ public class ShowtimeService {
     @Autowired
     private ShowtimeRepository showtimeRepository;
 
+    @Autowired
+    private SeatService seatService;
+
     public List<Showtime> getShowtimesByMovieId(Long movieId) {
-        log.info("Fetching showtimes for movie ID: {}", movieId);
-        return showtimeRepository.findByMovie_Id(movieId);
+        log.debug("Fetching showtimes for movie ID: {}", movieId);
+        return showtimeRepository.findByMovieId(movieId);
     }
 
     public List<Showtime> getUpcomingShowtimes() {
-        log.info("Fetching upcoming showtimes");
+        log.debug("Fetching upcoming showtimes");
         return showtimeRepository.findByShowTimeAfter(LocalDateTime.now());
     }
 
     public Optional<Showtime> getShowtimeById(Long id) {
-        log.info("Fetching showtime with ID: {}", id);
+        log.debug("Fetching showtime with ID: {}", id);
         return showtimeRepository.findById(id);
     }
 
@@ -42,13 +46,14 @@ public class ShowtimeService {
         return showtimeRepository.save(showtime);
     }
 
-    public void updateAvailableSeats(Long showtimeId, Integer newCount) {
-        log.info("Updating available seats for showtime ID: {} to: {}", showtimeId, newCount);
-        Optional<Showtime> showtime = showtimeRepository.findById(showtimeId);
-        if (showtime.isPresent()) {
-            showtime.get().setAvailableSeats(newCount);
-            showtimeRepository.save(showtime.get());
-        }
+    // A whole schedule (e.g. a week across every hall) with its seats in one transaction
+    @Transactional
+    public List<Showtime> createShowtimes(List<Showtime> showtimes) {
+        log.info("Creating {} showtimes", showtimes.size());
+        showtimes.forEach(showtime -> showtime.setAvailableSeats(showtime.getTotalSeats()));
+        List<Showtime> saved = showtimeRepository.saveAll(showtimes);
+        seatService.initializeSeatsForShowtimes(saved);
+        return saved;
     }
 
     public ShowtimeDTO convertToDTO(Showtime showtime) {
@@ -0,0 +1,89 @@
+-- Schema as Hibernate generated it with ddl-auto=update before Flyway took over,
+-- constraint names included. Databases created that way are baselined at this
+-- version, skip it and receive V2 onwards like any new database.
+
+create table users (
+    id bigint generated by default as identity,
+    email varchar(255),
+    username varchar(255),
+    full_name varchar(255),
+    password varchar(255),
+    enabled boolean not null,
+    role enum ('ADMIN','CUSTOMER'),
+    primary key (id)
+);
+
+create table movies (
+    id bigint generated by default as identity,
+    title varchar(255) not null,
+    description varchar(1000),
+    genre varchar(255) not null,
+    duration_minutes integer not null,
+    poster_url varchar(255) not null,
+    rating float(53) not null,
+    is_active boolean not null,
+    release_date timestamp(6) not null,
+    primary key (id)
+);
+
+create table showtime (
+    id bigint generated by default as identity,
+    movie_id bigint,
+    show_time timestamp(6),
+    hall varchar(255),
+    ticket_price float(53),
+    total_seats integer,
+    available_seats integer,
+    primary key (id)
+);
+
+create table bookings (
+    id bigint generated by default as identity,
+    user_id bigint not null,
+    movie_id bigint not null,
+    showtime_id bigint not null,
+    total_price float(53) not null,
+    status enum ('CANCELLED','CONFIRMED','EXPIRED','PENDING') not null,
+    payment_method enum ('CASH','DEBIT_CARD','NET_BANKING','VISA') not null,
+    booking_date timestamp(6) not null,
+    payment_date timestamp(6),
+    transaction_id varchar(50),
+    primary key (id)
+);
+
+create table seats (
+    id bigint generated by default as identity,
+    showtime_id bigint not null,
+    seat_number varchar(255) not null,
+    row_number integer not null,
+    column_number integer not null,
+    status enum ('AVAILABLE','RESERVED','SOLD') not null,
+    booking_id bigint,
+    primary key (id)
+);
+
+create table booking_seats (
+    booking_id bigint not null,
+    seat_id bigint not null
+);
+
+create table reviews (
+    id bigint generated by default as identity,
+    movie_id bigint not null,
+    user_id bigint not null,
+    rating integer not null,
+    comment varchar(1000),
+    review_date timestamp(6) not null,
+    primary key (id)
+);
+
+alter table booking_seats add constraint FKm2vak166qv8osqwe5qcxsn1p foreign key (seat_id) references seats (id);
+alter table booking_seats add constraint FKmbi9ciapn0nvat63t0a8tv478 foreign key (booking_id) references bookings (id);
+alter table bookings add constraint FKcn3eb25korl7fnf5i5gy3mg2t foreign key (movie_id) references movies (id);
+alter table bookings add constraint FKpq8uv7w76t0wed72sxdh1p7vg foreign key (showtime_id) references showtime (id);
+alter table bookings add constraint FKeyog2oic85xg7hsu2je2lx3s6 foreign key (user_id) references users (id);
+alter table reviews add constraint FK87tlqya0rq8ijfjscldpvvdyq foreign key (movie_id) references movies (id);
+alter table reviews add constraint FKcgy7qjc1r99dp117y9en6lxye foreign key (user_id) references users (id);
+alter table seats add constraint FKku1rurcfuh5d7pve1vsyomxa6 foreign key (booking_id) references bookings (id);
+alter table seats add constraint FK6utostnc46gx229ninbwi3t5e foreign key (showtime_id) references showtime (id);
+alter table showtime add constraint FKdug6gfw8vkd4h12t3otnx4fqa foreign key (movie_id) references movies (id);
@@ -0,0 +1,17 @@
+-- Booking events written in the booking transaction and relayed to the observers
+create table booking_outbox (
+    id bigint generated by default as identity,
+    booking_id bigint not null,
+    event_type enum ('CANCELLED','CONFIRMED') not null,
+    email varchar(255) not null,
+    full_name varchar(255),
+    movie_title varchar(255) not null,
+    show_time timestamp(6),
+    total_price float(53),
+    seat_numbers varchar(1000),
+    created_at timestamp(6) not null,
+    processed_at timestamp(6),
+    primary key (id)
+);
+
+create index idx_booking_outbox_pending on booking_outbox (processed_at, id);
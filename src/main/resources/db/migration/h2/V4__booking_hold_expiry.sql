@@ -0,0 +1,4 @@
+-- Deadline of a PENDING booking's seat hold; null for bookings created before this
+alter table bookings add column hold_expires_at timestamp(6);
+
+create index idx_bookings_status_hold on bookings (status, hold_expires_at);
@@ -0,0 +1,7 @@
+-- Seat ids come from a pooled sequence (allocation size 50) instead of the
+-- identity column, so seat provisioning can batch its inserts. The pooled
+-- optimizer hands out the 50 ids below the value it reads, so an upgraded
+-- database starts the sequence 50 past its highest existing seat id.
+create sequence seats_seq start with (select coalesce(max(id), 0) + 50 from seats) increment by 50;
+
+alter table seats alter column id drop identity;
@@ -0,0 +1,14 @@
+-- Which booking a client idempotency key produced
+create table idempotency_keys (
+    id bigint generated by default as identity,
+    user_id bigint not null,
+    operation enum ('CONFIRM','INITIATE') not null,
+    idempotency_key varchar(100) not null,
+    request_hash varchar(64) not null,
+    booking_id bigint not null,
+    created_at timestamp(6) not null,
+    primary key (id),
+    constraint uk_idempotency_user_operation_key unique (user_id, operation, idempotency_key)
+);
+
+create index idx_idempotency_created_at on idempotency_keys (created_at);
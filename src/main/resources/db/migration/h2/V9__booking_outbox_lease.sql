@@ -0,0 +1,4 @@
+-- The relay leases the rows it hands to the dispatcher; a row that is still
+-- unprocessed when its lease runs out (dead-lettered, or lost in a crash) is
+-- polled again.
+alter table booking_outbox add column leased_until timestamp(6);
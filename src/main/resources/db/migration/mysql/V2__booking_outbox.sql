@@ -0,0 +1,16 @@
+-- Booking events written in the booking transaction and relayed to the observers
+create table booking_outbox (
+    id bigint not null auto_increment,
+    booking_id bigint not null,
+    event_type enum ('CANCELLED','CONFIRMED') not null,
+    email varchar(255) not null,
+    full_name varchar(255),
+    movie_title varchar(255) not null,
+    show_time datetime(6),
+    total_price float(53),
+    seat_numbers varchar(1000),
+    created_at datetime(6) not null,
+    processed_at datetime(6),
+    primary key (id),
+    index idx_booking_outbox_pending (processed_at, id)
+) engine=InnoDB;
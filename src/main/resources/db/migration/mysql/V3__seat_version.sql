@@ -0,0 +1,2 @@
+-- Optimistic version for the conditional seat transitions
+alter table seats add column version bigint default 0 not null;
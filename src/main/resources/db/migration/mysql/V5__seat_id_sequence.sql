@@ -0,0 +1,12 @@
+-- Seat ids come from a pooled sequence (allocation size 50) instead of
+-- auto_increment, so seat provisioning can batch its inserts. MySQL has no
+-- sequences: Hibernate emulates seats_seq with a single-row table. The pooled
+-- optimizer hands out the 50 ids below the value it reads, so an upgraded
+-- database starts the sequence 50 past its highest existing seat id.
+create table seats_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into seats_seq select coalesce(max(id), 0) + 50 from seats;
+
+alter table seats modify id bigint not null;
@@ -0,0 +1,11 @@
+-- Seat-layout templates shared by every showtime in the same hall
+create table halls (
+    id bigint not null auto_increment,
+    name varchar(255) not null,
+    row_count integer not null,
+    seats_per_row integer not null,
+    aisle_after_columns varchar(255),
+    premium_rows varchar(255),
+    primary key (id),
+    constraint uk_halls_name unique (name)
+) engine=InnoDB;
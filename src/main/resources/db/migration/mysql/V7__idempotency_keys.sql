@@ -0,0 +1,13 @@
+-- Which booking a client idempotency key produced
+create table idempotency_keys (
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    operation enum ('CONFIRM','INITIATE') not null,
+    idempotency_key varchar(100) not null,
+    request_hash varchar(64) not null,
+    booking_id bigint not null,
+    created_at datetime(6) not null,
+    primary key (id),
+    index idx_idempotency_created_at (created_at),
+    constraint uk_idempotency_user_operation_key unique (user_id, operation, idempotency_key)
+) engine=InnoDB;
@@ -0,0 +1,37 @@
+-- One index per repository finder on a hot path. InnoDB appends the primary key
+-- to every secondary index, so (x, y) also covers "select id ... where x = ?".
+
+-- SeatRepository: findByShowtimeIdAndStatus, findTaken, reserveAvailable,
+-- countAvailableByShowtimeIds; findByShowtimeId and the showtime-scoped updates use the prefix
+create index idx_seats_showtime_status on seats (showtime_id, status);
+
+-- SeatRepository.findLayoutRows: showtime_id = ? order by row_number, column_number
+create index idx_seats_showtime_row_column on seats (showtime_id, `row_number`, column_number);
+
+-- BookingRepository.findByUserId and the keyset page (user_id = ? and id < ? order by id desc).
+-- findByStatus and the pending-hold queries lead with status on idx_bookings_status_hold.
+create index idx_bookings_user_id on bookings (user_id, id);
+
+-- BookingRepository.findSeatRefs: booking id to seat id without touching seats
+create index idx_booking_seats_booking_seat on booking_seats (booking_id, seat_id);
+
+-- ShowtimeRepository.findByShowTimeAfter; covers findCountersByShowTimeAfter
+create index idx_showtime_show_time on showtime (show_time, available_seats);
+
+-- ShowtimeRepository.findByMovieId / findByMovie_Id
+create index idx_showtime_movie_show_time on showtime (movie_id, show_time);
+
+-- ReviewRepository.findByMovieIdAndUserId; findByMovieId uses the prefix
+create index idx_reviews_movie_user on reviews (movie_id, user_id);
+
+-- ReviewRepository.findByUserId
+create index idx_reviews_user on reviews (user_id);
+
+-- MovieRepository.findByIsActiveTrue (catalog cache loads) and genre filtering within it
+create index idx_movies_active_genre on movies (is_active, genre);
+
+-- MovieRepository.findByGenre
+create index idx_movies_genre on movies (genre);
+
+-- UserRepository.findByUsername, on every login
+create index idx_users_username on users (username);
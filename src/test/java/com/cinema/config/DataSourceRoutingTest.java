@@ -0,0 +1,126 @@
+package com.cinema.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.cinema.dto.BookingDTO;
+import com.cinema.entity.Booking;
+import com.cinema.entity.Movie;
+import com.cinema.entity.Seat;
+import com.cinema.entity.Showtime;
+import com.cinema.repository.MovieRepository;
+import com.cinema.repository.SeatRepository;
+import com.cinema.repository.ShowtimeRepository;
+import com.cinema.repository.UserRepository;
+import com.cinema.service.BookingFacade;
+import com.cinema.service.SeatService;
+
+// Each pool tags its connections with an H2 session variable, so a statement can
+// tell which pool served it
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:datasource-routing;DB_CLOSE_DELAY=-1",
+        "cinema.datasource.write.connection-init-sql=SET @pool = '" + DatabaseConfig.WRITE_POOL + "'",
+        "cinema.datasource.read.connection-init-sql=SET @pool = '" + DatabaseConfig.READ_POOL + "'"
+})
+class DataSourceRoutingTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private BookingFacade bookingFacade;
+
+    @Autowired
+    private SeatService seatService;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void readOnlyTransactionUsesReadPool() {
+        assertThat(inTransaction(true)).isEqualTo(DatabaseConfig.READ_POOL);
+    }
+
+    @Test
+    void readWriteTransactionUsesWritePool() {
+        assertThat(inTransaction(false)).isEqualTo(DatabaseConfig.WRITE_POOL);
+    }
+
+    @Test
+    void statementOutsideTransactionUsesWritePool() {
+        assertThat(pool()).isEqualTo(DatabaseConfig.WRITE_POOL);
+    }
+
+    @Test
+    void openInViewIsDisabled() {
+        assertThat(context.getBeanNamesForType(OpenEntityManagerInViewInterceptor.class)).isEmpty();
+    }
+
+    // Without open-in-view the details must be complete when they leave the service
+    @Test
+    void bookingDetailsLoadOutsideTransaction() {
+        Showtime showtime = showtime();
+        List<Long> seatIds = seatRepository.findByShowtimeId(showtime.getId()).stream()
+                .map(Seat::getId).sorted().limit(2).toList();
+        Long userId = userRepository.findByUsername("admin").orElseThrow().getId();
+        BookingDTO booking = bookingFacade.initiateBooking(userId, showtime.getMovie().getId(), showtime.getId(),
+                                                           seatIds, Booking.PaymentMethod.VISA);
+        assertThat(booking).isNotNull();
+
+        BookingDTO details = bookingFacade.getBookingDetails(booking.getId());
+
+        assertThat(details.getSeatIds()).containsExactlyInAnyOrderElementsOf(seatIds);
+        assertThat(details.getStatus()).isEqualTo(Booking.BookingStatus.PENDING.name());
+    }
+
+    private String inTransaction(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(tx -> pool());
+    }
+
+    private String pool() {
+        return jdbcTemplate.queryForObject("select @pool", String.class);
+    }
+
+    private Showtime showtime() {
+        Movie movie = movieRepository.save(new Movie("Routing Test", "Read and write pools", "Drama", 95,
+                                                     "/images/routing.jpg", 6.0, true, LocalDateTime.now()));
+        Showtime showtime = new Showtime();
+        showtime.setMovie(movie);
+        showtime.setShowTime(LocalDateTime.now().plusDays(1));
+        showtime.setHall("Routing Hall");
+        showtime.setTicketPrice(8.0);
+        showtime.setTotalSeats(4);
+        showtime.setAvailableSeats(4);
+        showtime = showtimeRepository.save(showtime);
+        seatService.initializeSeatsForShowtime(showtime);
+        return showtime;
+    }
+}
@@ -0,0 +1,101 @@
+package com.cinema.controller;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.cinema.dto.BookingDTO;
+import com.cinema.entity.Booking;
+import com.cinema.service.BookingFacade;
+import com.cinema.service.IdempotencyService;
+import com.cinema.service.PaymentPipeline;
+
+// A CONFIRM key is recorded before its payment runs, so replaying it must pay
+// again after a failure but never while a charge is in flight or once confirmed
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:confirm-idempotency;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@WithMockUser(username = "admin")
+class BookingControllerIdempotencyTest {
+
+    private static final String CARD = "4111111111111111";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private BookingFacade bookingFacade;
+
+    @Test
+    void replayAfterFailedPaymentPaysAgain() throws Exception {
+        when(bookingFacade.getBookingDetails(101L)).thenReturn(booking(101L, Booking.BookingStatus.PENDING));
+
+        confirm(101L, "retry-after-failure");
+        confirm(101L, "retry-after-failure");
+
+        verify(bookingFacade, times(2)).submitBookingPayment(101L, CARD);
+    }
+
+    @Test
+    void replayWhilePaymentIsInFlightIsNotSubmitted() throws Exception {
+        when(bookingFacade.getBookingDetails(102L)).thenReturn(booking(102L, Booking.BookingStatus.PENDING));
+        when(bookingFacade.getPaymentState(102L)).thenReturn(PaymentPipeline.PaymentState.PROCESSING);
+
+        confirm(102L, "double-submit");
+        confirm(102L, "double-submit");
+
+        verify(bookingFacade, times(1)).submitBookingPayment(eq(102L), anyString());
+    }
+
+    @Test
+    void replayOfConfirmedBookingIsNotSubmitted() throws Exception {
+        when(bookingFacade.getBookingDetails(103L)).thenReturn(booking(103L, Booking.BookingStatus.PENDING));
+        confirm(103L, "after-success");
+
+        when(bookingFacade.getBookingDetails(103L)).thenReturn(booking(103L, Booking.BookingStatus.CONFIRMED));
+        confirm(103L, "after-success");
+
+        verify(bookingFacade, times(1)).submitBookingPayment(eq(103L), anyString());
+    }
+
+    @Test
+    void unstorableKeyIsABadRequest() throws Exception {
+        for (String key : new String[] {" ", "k".repeat(IdempotencyService.MAX_KEY_LENGTH + 1)}) {
+            mockMvc.perform(post("/booking/confirm")
+                            .param("bookingId", "104")
+                            .param("transactionDetails", CARD)
+                            .header("Idempotency-Key", key))
+                    .andExpect(status().isBadRequest());
+        }
+
+        verify(bookingFacade, never()).submitBookingPayment(eq(104L), anyString());
+    }
+
+    private void confirm(Long bookingId, String idempotencyKey) throws Exception {
+        mockMvc.perform(post("/booking/confirm")
+                        .param("bookingId", bookingId.toString())
+                        .param("transactionDetails", CARD)
+                        .param("idempotencyKey", idempotencyKey))
+                .andExpect(redirectedUrl("/booking/status/" + bookingId));
+    }
+
+    private static BookingDTO booking(Long id, Booking.BookingStatus status) {
+        BookingDTO booking = new BookingDTO();
+        booking.setId(id);
+        booking.setStatus(status.name());
+        return booking;
+    }
+}
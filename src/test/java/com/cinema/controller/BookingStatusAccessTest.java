@@ -0,0 +1,68 @@
+package com.cinema.controller;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.cinema.dto.BookingDTO;
+import com.cinema.entity.Booking;
+import com.cinema.repository.UserRepository;
+import com.cinema.service.BookingFacade;
+import com.cinema.service.PaymentPipeline;
+
+// The status page only shows the signed-in user's own bookings
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:booking-status-access;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@WithMockUser(username = "admin")
+class BookingStatusAccessTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private BookingFacade bookingFacade;
+
+    @Test
+    void ownBookingIsShown() throws Exception {
+        Long adminId = userRepository.findByUsername("admin").orElseThrow().getId();
+        when(bookingFacade.getBookingDetails(301L)).thenReturn(booking(301L, adminId));
+        when(bookingFacade.getPaymentState(301L)).thenReturn(PaymentPipeline.PaymentState.PROCESSING);
+
+        mockMvc.perform(get("/booking/status/301"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("booking/processing"));
+    }
+
+    @Test
+    void otherUsersBookingIsNotFound() throws Exception {
+        Long adminId = userRepository.findByUsername("admin").orElseThrow().getId();
+        when(bookingFacade.getBookingDetails(302L)).thenReturn(booking(302L, adminId + 1));
+
+        mockMvc.perform(get("/booking/status/302")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void missingBookingIsNotFound() throws Exception {
+        mockMvc.perform(get("/booking/status/303")).andExpect(status().isNotFound());
+    }
+
+    private static BookingDTO booking(Long id, Long userId) {
+        BookingDTO booking = new BookingDTO();
+        booking.setId(id);
+        booking.setUserId(userId);
+        booking.setStatus(Booking.BookingStatus.PENDING.name());
+        return booking;
+    }
+}
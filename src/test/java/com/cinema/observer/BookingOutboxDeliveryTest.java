@@ -0,0 +1,84 @@
+package com.cinema.observer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.cinema.entity.BookingOutboxEvent;
+import com.cinema.repository.BookingOutboxRepository;
+import com.cinema.service.BookingFacade;
+
+// The facade is mocked, so the startup runner registers nobody: the observers must
+// already be in place when the relay starts, and an outbox row is only processed
+// once an observer has actually handled it
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox-delivery;DB_CLOSE_DELAY=-1",
+        "cinema.outbox.poll-interval-ms=50",
+        "cinema.outbox.lease=1s"
+})
+class BookingOutboxDeliveryTest {
+
+    private static final long WAIT_MS = 10_000;
+
+    @MockitoBean
+    private BookingFacade bookingFacade;
+
+    @Autowired
+    private BookingNotificationManager notificationManager;
+
+    @Autowired
+    private List<BookingObserver> observers;
+
+    @Autowired
+    private BookingOutboxRepository outboxRepository;
+
+    // One test, so the observers it removes cannot leak into the startup check
+    @Test
+    void rowIsProcessedOnlyOnceAnObserverHandledIt() throws InterruptedException {
+        assertThat(notificationManager.getObserverCount()).isEqualTo(observers.size()).isPositive();
+        Long delivered = outboxRepository.save(event(201L)).getId();
+        assertThat(awaitProcessed(delivered)).isTrue();
+
+        observers.forEach(notificationManager::removeObserver);
+        try {
+            Long waiting = outboxRepository.save(event(202L)).getId();
+            Thread.sleep(1_000);
+            assertThat(outboxRepository.findById(waiting).orElseThrow().getProcessedAt()).isNull();
+
+            observers.forEach(notificationManager::registerObserver);
+            assertThat(awaitProcessed(waiting)).isTrue();
+        } finally {
+            observers.forEach(notificationManager::registerObserver);
+        }
+    }
+
+    private boolean awaitProcessed(Long id) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WAIT_MS;
+        while (System.currentTimeMillis() < deadline) {
+            if (outboxRepository.findById(id).orElseThrow().getProcessedAt() != null) {
+                return true;
+            }
+            Thread.sleep(50);
+        }
+        return false;
+    }
+
+    private static BookingOutboxEvent event(Long bookingId) {
+        BookingOutboxEvent event = new BookingOutboxEvent();
+        event.setBookingId(bookingId);
+        event.setEventType(BookingOutboxEvent.EventType.CONFIRMED);
+        event.setEmail("outbox@example.com");
+        event.setFullName("Outbox Test");
+        event.setMovieTitle("Outbox");
+        event.setShowTime(LocalDateTime.now().plusDays(1));
+        event.setTotalPrice(10.0);
+        event.setSeatNumbers("A1,A2");
+        return event;
+    }
+}
@@ -0,0 +1,132 @@
+package com.cinema.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.repository.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ReflectionUtils;
+
+import com.cinema.jdbc.QueryStatistics;
+
+// Runs every finder declared in com.cinema.repository against the Flyway-built
+// schema and EXPLAINs the SQL Hibernate generated for it: no table may be read
+// with a full scan.
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:index-usage;DB_CLOSE_DELAY=-1")
+class RepositoryIndexUsageTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private QueryStatistics statistics;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void everyFinderReadsThroughAnIndex() throws Exception {
+        SoftAssertions plans = new SoftAssertions();
+        List<String> checked = new ArrayList<>();
+        for (Method finder : finders()) {
+            Object repository = context.getBean(finder.getDeclaringClass());
+            statistics.reset();
+            // In a transaction, as the locking finders require
+            transactionTemplate.execute(tx -> ReflectionUtils.invokeMethod(finder, repository, arguments(finder)));
+
+            List<String> selects = statistics.slowest(Integer.MAX_VALUE).stream()
+                    .map(QueryStatistics.StatementStats::getStatement)
+                    .filter(sql -> sql.regionMatches(true, 0, "select", 0, 6))
+                    .toList();
+            assertThat(selects).as("SQL issued by %s", describe(finder)).isNotEmpty();
+
+            for (String sql : selects) {
+                plans.assertThat(explain(sql))
+                        .as("plan of %s: %s", describe(finder), sql)
+                        .doesNotContainIgnoringCase("tableScan");
+            }
+            checked.add(describe(finder));
+        }
+        plans.assertAll();
+        assertThat(checked).contains("SeatRepository.findByShowtimeIdAndStatus", "BookingRepository.findHistoryPage");
+    }
+
+    private List<Method> finders() {
+        return context.getBeansOfType(Repository.class).values().stream()
+                .flatMap(bean -> Arrays.stream(bean.getClass().getInterfaces()))
+                .filter(type -> type.getPackageName().equals(getClass().getPackageName()))
+                .distinct()
+                .flatMap(type -> Arrays.stream(type.getDeclaredMethods()))
+                .filter(method -> !method.isDefault() && !method.isAnnotationPresent(Modifying.class))
+                .sorted(Comparator.comparing(RepositoryIndexUsageTest::describe))
+                .toList();
+    }
+
+    private String explain(String sql) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("explain " + sql);
+             ResultSet plan = statement.executeQuery()) {
+            StringBuilder text = new StringBuilder();
+            while (plan.next()) {
+                text.append(plan.getString(1)).append('\n');
+            }
+            return text.toString();
+        }
+    }
+
+    private static Object[] arguments(Method finder) {
+        return Arrays.stream(finder.getParameterTypes()).map(RepositoryIndexUsageTest::sample).toArray();
+    }
+
+    private static Object sample(Class<?> type) {
+        if (type == Long.class || type == long.class) {
+            return 1L;
+        }
+        if (type == Integer.class || type == int.class) {
+            return 1;
+        }
+        if (type == String.class) {
+            return "sample";
+        }
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.now();
+        }
+        if (Collection.class.isAssignableFrom(type)) {
+            return List.of(1L, 2L);
+        }
+        if (type == Pageable.class) {
+            return PageRequest.of(0, 10);
+        }
+        if (type.isEnum()) {
+            return type.getEnumConstants()[0];
+        }
+        throw new IllegalArgumentException("No sample value for " + type);
+    }
+
+    private static String describe(Method method) {
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+    }
+}
@@ -0,0 +1,29 @@
+package com.cinema.seatmap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+// Showtime ids arrive from public URLs; unknown ones must not fill the cache
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:seatmap-engine;DB_CLOSE_DELAY=-1")
+class SeatMapEngineTest {
+
+    @Autowired
+    private SeatMapEngine seatMapEngine;
+
+    @Test
+    void unknownShowtimeIsNotCached() {
+        for (long showtimeId = 900_000; showtimeId < 900_100; showtimeId++) {
+            ShowtimeSeatMap seatMap = seatMapEngine.getSeatMap(showtimeId);
+            assertThat(seatMap.size()).isZero();
+            assertThat(seatMapEngine.hold(showtimeId, List.of(1L))).isFalse();
+        }
+
+        assertThat(seatMapEngine.loadedSeatMaps())
+                .noneMatch(seatMap -> seatMap.getShowtimeId() >= 900_000);
+    }
+}
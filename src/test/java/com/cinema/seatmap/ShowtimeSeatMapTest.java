@@ -0,0 +1,82 @@
+package com.cinema.seatmap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.cinema.entity.Seat;
+
+class ShowtimeSeatMapTest {
+
+    private static ShowtimeSeatMap seatMap(Seat.SeatStatus... statuses) {
+        List<Seat> seats = new ArrayList<>();
+        for (int i = 0; i < statuses.length; i++) {
+            seats.add(new Seat((long) i + 1, null, "A" + (i + 1), 1, i + 1, statuses[i], null));
+        }
+        return new ShowtimeSeatMap(1L, seats);
+    }
+
+    @Test
+    void confirmSellsHeldSeats() {
+        ShowtimeSeatMap seatMap = seatMap(Seat.SeatStatus.AVAILABLE, Seat.SeatStatus.AVAILABLE);
+
+        assertThat(seatMap.hold(List.of(1L, 2L))).isTrue();
+        assertThat(seatMap.confirm(List.of(1L, 2L))).isTrue();
+
+        assertThat(seatMap.statusOf(1L)).isEqualTo(Seat.SeatStatus.SOLD);
+        assertThat(seatMap.statusOf(2L)).isEqualTo(Seat.SeatStatus.SOLD);
+    }
+
+    @Test
+    void confirmRejectsSeatsThatAreNotHeld() {
+        ShowtimeSeatMap seatMap = seatMap(Seat.SeatStatus.RESERVED, Seat.SeatStatus.AVAILABLE, Seat.SeatStatus.SOLD);
+        long version = seatMap.getVersion();
+
+        assertThat(seatMap.confirm(List.of(1L, 2L))).isFalse();
+        assertThat(seatMap.confirm(List.of(1L, 3L))).isFalse();
+
+        assertThat(seatMap.statusOf(1L)).isEqualTo(Seat.SeatStatus.RESERVED);
+        assertThat(seatMap.statusOf(2L)).isEqualTo(Seat.SeatStatus.AVAILABLE);
+        assertThat(seatMap.getVersion()).isEqualTo(version);
+    }
+
+    @Test
+    void releaseRejectsSoldAndAvailableSeats() {
+        ShowtimeSeatMap seatMap = seatMap(Seat.SeatStatus.RESERVED, Seat.SeatStatus.SOLD, Seat.SeatStatus.AVAILABLE);
+
+        assertThat(seatMap.release(List.of(1L, 2L))).isFalse();
+        assertThat(seatMap.release(List.of(1L, 3L))).isFalse();
+        assertThat(seatMap.statusOf(1L)).isEqualTo(Seat.SeatStatus.RESERVED);
+
+        assertThat(seatMap.release(List.of(1L))).isTrue();
+        assertThat(seatMap.statusOf(1L)).isEqualTo(Seat.SeatStatus.AVAILABLE);
+        assertThat(seatMap.statusOf(2L)).isEqualTo(Seat.SeatStatus.SOLD);
+    }
+
+    @Test
+    void releasedSeatCannotBeConfirmedByItsFormerHolder() {
+        ShowtimeSeatMap seatMap = seatMap(Seat.SeatStatus.AVAILABLE);
+
+        assertThat(seatMap.hold(List.of(1L))).isTrue();
+        assertThat(seatMap.release(List.of(1L))).isTrue();
+
+        assertThat(seatMap.confirm(List.of(1L))).isFalse();
+        assertThat(seatMap.release(List.of(1L))).isFalse();
+        assertThat(seatMap.availableCount()).isEqualTo(1);
+    }
+
+    @Test
+    void unconfirmOnlyTakesBackSoldSeats() {
+        ShowtimeSeatMap seatMap = seatMap(Seat.SeatStatus.SOLD, Seat.SeatStatus.RESERVED);
+
+        assertThat(seatMap.unconfirm(List.of(1L, 2L))).isFalse();
+        assertThat(seatMap.statusOf(1L)).isEqualTo(Seat.SeatStatus.SOLD);
+
+        assertThat(seatMap.unconfirm(List.of(1L))).isTrue();
+        assertThat(seatMap.statusOf(1L)).isEqualTo(Seat.SeatStatus.RESERVED);
+        assertThat(seatMap.availableCount()).isZero();
+    }
+}
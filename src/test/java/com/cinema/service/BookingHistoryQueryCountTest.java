@@ -0,0 +1,107 @@
+package com.cinema.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.cinema.dto.BookingDTO;
+import com.cinema.entity.Booking;
+import com.cinema.entity.Movie;
+import com.cinema.entity.Seat;
+import com.cinema.entity.Showtime;
+import com.cinema.jdbc.RequestStatements;
+import com.cinema.jdbc.StatementMetricsListener;
+import com.cinema.repository.MovieRepository;
+import com.cinema.repository.SeatRepository;
+import com.cinema.repository.ShowtimeRepository;
+import com.cinema.repository.UserRepository;
+
+// A history page costs two selects however many bookings, seats and showtimes it
+// covers: the bookings with their to-one associations, then all of their seat ids
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:booking-history;DB_CLOSE_DELAY=-1")
+class BookingHistoryQueryCountTest {
+
+    private static final int BOOKINGS = 5;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingFacade bookingFacade;
+
+    @Autowired
+    private SeatService seatService;
+
+    @Autowired
+    private StatementMetricsListener statementListener;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void historyPageIsTwoStatements() {
+        Long userId = userRepository.findByUsername("admin").orElseThrow().getId();
+        for (int i = 0; i < BOOKINGS; i++) {
+            Showtime showtime = showtime(i);
+            List<Long> seatIds = seatRepository.findByShowtimeId(showtime.getId()).stream()
+                    .map(Seat::getId).sorted().limit(2).toList();
+            assertThat(bookingFacade.initiateBooking(userId, showtime.getMovie().getId(), showtime.getId(),
+                                                     seatIds, Booking.PaymentMethod.VISA)).isNotNull();
+        }
+
+        List<BookingDTO> firstPage = countingStatements(() -> bookingService.getBookingHistory(userId, null, 50), 2);
+        assertThat(firstPage).hasSize(BOOKINGS);
+        assertThat(firstPage).allSatisfy(booking -> {
+            assertThat(booking.getSeatIds()).hasSize(2);
+            assertThat(booking.getMovie()).isNotNull();
+            assertThat(booking.getShowtime()).isNotNull();
+        });
+
+        List<BookingDTO> nextPage = countingStatements(
+                () -> bookingService.getBookingHistory(userId, firstPage.get(1).getId(), 50), 2);
+        assertThat(nextPage).hasSize(BOOKINGS - 2);
+    }
+
+    private <T> T countingStatements(Supplier<T> action, int expected) {
+        RequestStatements statements = statementListener.beginRequest();
+        try {
+            T result = action.get();
+            assertThat(statements.getTotal()).as("statements %s", statements.getExecutions().keySet()).isEqualTo(expected);
+            assertThat(statements.getExecutions().values()).allSatisfy(count -> assertThat(count[0]).isEqualTo(1));
+            return result;
+        } finally {
+            statementListener.endRequest();
+        }
+    }
+
+    // Each booking on its own movie and showtime, so nothing is shared between rows
+    private Showtime showtime(int index) {
+        Movie movie = movieRepository.save(new Movie("History " + index, "Query counts", "Drama", 90,
+                                                     "/images/history.jpg", 6.5, true, LocalDateTime.now()));
+        Showtime showtime = new Showtime();
+        showtime.setMovie(movie);
+        showtime.setShowTime(LocalDateTime.now().plusDays(index + 1));
+        showtime.setHall("History Hall");
+        showtime.setTicketPrice(9.0);
+        showtime.setTotalSeats(4);
+        showtime.setAvailableSeats(4);
+        showtime = showtimeRepository.save(showtime);
+        seatService.initializeSeatsForShowtime(showtime);
+        return showtime;
+    }
+}
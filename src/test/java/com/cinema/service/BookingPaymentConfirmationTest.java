@@ -0,0 +1,176 @@
+package com.cinema.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.cinema.dto.BookingDTO;
+import com.cinema.entity.Booking;
+import com.cinema.entity.Movie;
+import com.cinema.entity.Seat;
+import com.cinema.entity.Showtime;
+import com.cinema.payment.PaymentProcessor;
+import com.cinema.repository.BookingRepository;
+import com.cinema.repository.MovieRepository;
+import com.cinema.repository.SeatRepository;
+import com.cinema.repository.ShowtimeRepository;
+import com.cinema.repository.UserRepository;
+
+// The gateway is stubbed so a booking can change state while it is being charged
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:booking-confirmation;DB_CLOSE_DELAY=-1")
+class BookingPaymentConfirmationTest {
+
+    private static final String CARD = "4111111111111111";
+
+    @MockitoBean
+    private PaymentProcessor paymentProcessor;
+
+    @Autowired
+    private BookingFacade bookingFacade;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private SeatService seatService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private BookingDTO booking;
+
+    @BeforeEach
+    void initiateBooking() {
+        Movie movie = movieRepository.save(new Movie("Confirmation Test", "Payment races", "Drama", 100,
+                                                     "/images/confirmation.jpg", 7.0, true, LocalDateTime.now()));
+        Showtime showtime = new Showtime();
+        showtime.setMovie(movie);
+        showtime.setShowTime(LocalDateTime.now().plusDays(1));
+        showtime.setHall("Confirmation Hall");
+        showtime.setTicketPrice(12.0);
+        showtime.setTotalSeats(10);
+        showtime.setAvailableSeats(10);
+        showtime = showtimeRepository.save(showtime);
+        seatService.initializeSeatsForShowtime(showtime);
+
+        List<Long> seatIds = seatRepository.findByShowtimeId(showtime.getId()).stream()
+                .map(Seat::getId).sorted().limit(2).toList();
+        Long userId = userRepository.findByUsername("admin").orElseThrow().getId();
+        booking = bookingFacade.initiateBooking(userId, movie.getId(), showtime.getId(), seatIds,
+                                                Booking.PaymentMethod.VISA);
+        assertThat(booking).isNotNull();
+    }
+
+    @Test
+    void bookingThatExpiresDuringTheChargeIsRefunded() {
+        when(paymentProcessor.pay(eq(Booking.PaymentMethod.VISA), any(), anyString())).thenAnswer(invocation -> {
+            // The charge outlived even the moved deadline
+            expire(LocalDateTime.now().plusYears(1));
+            return true;
+        });
+        when(paymentProcessor.refund(any(), any(), anyString())).thenReturn(true);
+
+        assertThat(bookingService.processPaymentAndConfirmBooking(booking.getId(), CARD)).isFalse();
+
+        assertThat(status()).isEqualTo(Booking.BookingStatus.EXPIRED);
+        verify(paymentProcessor).refund(eq(Booking.PaymentMethod.VISA), eq(booking.getTotalPrice()), anyString());
+    }
+
+    @Test
+    void holdDeadlineMovesPastTheChargeBeforeItStarts() {
+        LocalDateTime deadline = bookingRepository.findById(booking.getId()).orElseThrow().getHoldExpiresAt();
+        AtomicReference<LocalDateTime> deadlineDuringCharge = new AtomicReference<>();
+        when(paymentProcessor.pay(eq(Booking.PaymentMethod.VISA), any(), anyString())).thenAnswer(invocation -> {
+            deadlineDuringCharge.set(bookingRepository.findById(booking.getId()).orElseThrow().getHoldExpiresAt());
+            return true;
+        });
+
+        assertThat(bookingService.processPaymentAndConfirmBooking(booking.getId(), CARD)).isTrue();
+
+        assertThat(deadlineDuringCharge.get()).isAfter(deadline);
+        assertThat(status()).isEqualTo(Booking.BookingStatus.CONFIRMED);
+        verify(paymentProcessor, never()).refund(any(), any(), anyString());
+    }
+
+    @Test
+    void expiredBookingCannotBeCancelled() {
+        expire(LocalDateTime.now().plusYears(1));
+
+        assertThat(bookingService.cancelBooking(booking.getId())).isFalse();
+        assertThat(status()).isEqualTo(Booking.BookingStatus.EXPIRED);
+    }
+
+    @Test
+    void staleExpiryCannotExpireABookingBeingCharged() {
+        AtomicReference<Integer> expiredDuringCharge = new AtomicReference<>();
+        when(paymentProcessor.pay(eq(Booking.PaymentMethod.VISA), any(), anyString())).thenAnswer(invocation -> {
+            // A wheel entry for the old deadline fires on another instance
+            expiredDuringCharge.set(expire(LocalDateTime.now()));
+            return true;
+        });
+
+        assertThat(bookingService.processPaymentAndConfirmBooking(booking.getId(), CARD)).isTrue();
+
+        assertThat(expiredDuringCharge.get()).isZero();
+        assertThat(status()).isEqualTo(Booking.BookingStatus.CONFIRMED);
+    }
+
+    @Test
+    void cancelDoesNotOverwriteAConfirmationCommittedAfterItsRead() {
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        Integer cancelled = transactionTemplate.execute(tx -> {
+            Booking.BookingStatus read = bookingRepository.findById(booking.getId()).orElseThrow().getStatus();
+            requiresNew.executeWithoutResult(confirm ->
+                    bookingRepository.confirmPending(booking.getId(), LocalDateTime.now(), "txn-race"));
+            return bookingRepository.cancelIfStatus(booking.getId(), read);
+        });
+
+        assertThat(cancelled).isZero();
+        assertThat(status()).isEqualTo(Booking.BookingStatus.CONFIRMED);
+    }
+
+    private int expire(LocalDateTime now) {
+        return transactionTemplate.execute(tx -> bookingRepository.expirePending(List.of(booking.getId()), now));
+    }
+
+    private Booking.BookingStatus status() {
+        return bookingRepository.findById(booking.getId()).orElseThrow().getStatus();
+    }
+}
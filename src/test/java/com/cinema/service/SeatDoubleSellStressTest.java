@@ -0,0 +1,147 @@
+package com.cinema.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.cinema.entity.Movie;
+import com.cinema.entity.Seat;
+import com.cinema.entity.Showtime;
+import com.cinema.repository.MovieRepository;
+import com.cinema.repository.SeatRepository;
+import com.cinema.repository.ShowtimeRepository;
+import com.cinema.seatmap.SeatMapEngine;
+import com.cinema.seatmap.SeatWriteBehindFlusher;
+
+// 500 buyers race for the seats of one showtime at once, through both the multi-seat
+// hold and the single-seat path, confirming or abandoning what they got. No seat
+// may end up sold to two of them, in the seat map or in the table.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:stress-engine;DB_CLOSE_DELAY=-1",
+        "cinema.datasource.write.connection-timeout=30000",
+        "cinema.datasource.read.connection-timeout=30000"
+})
+class SeatDoubleSellStressTest {
+
+    private static final int BUYERS = 500;
+    private static final int SEATS = 100;
+
+    @Autowired
+    private SeatService seatService;
+
+    @Autowired
+    private SeatMapEngine seatMapEngine;
+
+    @Autowired
+    private SeatWriteBehindFlusher flusher;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Test
+    void noSeatIsSoldTwice() throws Exception {
+        Showtime showtime = showtime();
+        List<Long> seatIds = seatRepository.findByShowtimeId(showtime.getId()).stream().map(Seat::getId).sorted().toList();
+        assertThat(seatIds).hasSize(SEATS);
+
+        Map<Long, AtomicInteger> salesBySeat = new ConcurrentHashMap<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService buyers = Executors.newFixedThreadPool(BUYERS);
+        List<Future<?>> results = new ArrayList<>();
+        try {
+            for (int buyer = 0; buyer < BUYERS; buyer++) {
+                int id = buyer;
+                results.add(buyers.submit(() -> {
+                    start.await();
+                    buy(id, showtime.getId(), seatIds, salesBySeat);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            buyers.shutdownNow();
+        }
+
+        assertThat(salesBySeat).isNotEmpty();
+        assertThat(salesBySeat.values()).allSatisfy(sales -> assertThat(sales.get()).isEqualTo(1));
+
+        if (seatMapEngine.isEnabled()) {
+            flusher.flush();
+        }
+        List<Seat> seats = seatRepository.findByShowtimeId(showtime.getId());
+        assertThat(seats).noneMatch(seat -> seat.getStatus() == Seat.SeatStatus.RESERVED);
+        assertThat(seats.stream().filter(seat -> seat.getStatus() == Seat.SeatStatus.SOLD).map(Seat::getId))
+                .containsExactlyInAnyOrderElementsOf(salesBySeat.keySet());
+        assertThat(showtimeRepository.findById(showtime.getId()).orElseThrow().getAvailableSeats())
+                .isEqualTo(SEATS - salesBySeat.size());
+    }
+
+    // Every fifth buyer takes a single seat, the rest a pair; every seventh walks away
+    private void buy(int buyer, Long showtimeId, List<Long> seatIds, Map<Long, AtomicInteger> salesBySeat) {
+        Random random = new Random(buyer);
+        boolean abandon = buyer % 7 == 0;
+
+        if (buyer % 5 == 0) {
+            Long seatId = seatIds.get(random.nextInt(seatIds.size()));
+            if (!seatService.reserveSeat(seatId)) {
+                return;
+            }
+            if (abandon) {
+                assertThat(seatService.releaseSeat(seatId)).isTrue();
+            } else if (seatService.confirmSeat(seatId)) {
+                salesBySeat.computeIfAbsent(seatId, id -> new AtomicInteger()).incrementAndGet();
+            }
+            return;
+        }
+
+        int first = random.nextInt(seatIds.size() - 1);
+        List<Long> pair = List.of(seatIds.get(first), seatIds.get(first + 1));
+        if (!seatService.holdSeats(showtimeId, pair)) {
+            return;
+        }
+        if (abandon) {
+            assertThat(seatService.releaseSeats(showtimeId, pair)).isTrue();
+        } else if (seatService.confirmSeats(showtimeId, pair)) {
+            pair.forEach(seatId -> salesBySeat.computeIfAbsent(seatId, id -> new AtomicInteger()).incrementAndGet());
+        }
+    }
+
+    private Showtime showtime() {
+        Movie movie = movieRepository.save(new Movie("Stress Test", "Seat contention", "Drama", 120,
+                                                     "/images/stress.jpg", 7.0, true, LocalDateTime.now()));
+        Showtime showtime = new Showtime();
+        showtime.setMovie(movie);
+        showtime.setShowTime(LocalDateTime.now().plusDays(1));
+        showtime.setHall("Stress Hall");
+        showtime.setTicketPrice(10.0);
+        showtime.setTotalSeats(SEATS);
+        showtime.setAvailableSeats(SEATS);
+        showtime = showtimeRepository.save(showtime);
+        seatService.initializeSeatsForShowtime(showtime);
+        return showtime;
+    }
+}
@@ -0,0 +1,13 @@
+package com.cinema.service;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+// The same race with the seat map engine off: every transition is a conditional UPDATE
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:stress-table;DB_CLOSE_DELAY=-1",
+        "cinema.seatmap.enabled=false",
+        "cinema.datasource.write.connection-timeout=30000",
+        "cinema.datasource.read.connection-timeout=30000"
+})
+class SeatDoubleSellStressWithoutEngineTest extends SeatDoubleSellStressTest {
+}
@@ -0,0 +1,107 @@
+package com.cinema.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.cinema.entity.Movie;
+import com.cinema.entity.Seat;
+import com.cinema.entity.Showtime;
+import com.cinema.repository.MovieRepository;
+import com.cinema.repository.SeatRepository;
+import com.cinema.repository.ShowtimeRepository;
+import com.cinema.seatmap.SeatMapEngine;
+
+// Seat map transitions happen before the caller commits, so nothing that commits
+// can point at seats in the wrong state, and they are undone if it rolls back
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:seatmap-rollback;DB_CLOSE_DELAY=-1")
+class SeatMapTransitionRollbackTest {
+
+    @Autowired
+    private SeatService seatService;
+
+    @Autowired
+    private SeatMapEngine seatMapEngine;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long showtimeId;
+    private List<Long> seatIds;
+
+    @BeforeEach
+    void holdSeats() {
+        Movie movie = movieRepository.save(new Movie("Rollback Test", "Seat map compensation", "Drama", 100,
+                                                     "/images/rollback.jpg", 7.0, true, LocalDateTime.now()));
+        Showtime showtime = new Showtime();
+        showtime.setMovie(movie);
+        showtime.setShowTime(LocalDateTime.now().plusDays(1));
+        showtime.setHall("Rollback Hall");
+        showtime.setTicketPrice(10.0);
+        showtime.setTotalSeats(4);
+        showtime.setAvailableSeats(4);
+        showtime = showtimeRepository.save(showtime);
+        seatService.initializeSeatsForShowtime(showtime);
+
+        showtimeId = showtime.getId();
+        seatIds = seatRepository.findByShowtimeId(showtimeId).stream().map(Seat::getId).sorted().limit(2).toList();
+        assertThat(seatService.holdSeats(showtimeId, seatIds)).isTrue();
+    }
+
+    @Test
+    void confirmationIsAppliedBeforeCommit() {
+        Seat.SeatStatus beforeCommit = transactionTemplate.execute(tx -> {
+            assertThat(seatService.confirmSeats(showtimeId, seatIds)).isTrue();
+            return status();
+        });
+
+        assertThat(beforeCommit).isEqualTo(Seat.SeatStatus.SOLD);
+        assertThat(status()).isEqualTo(Seat.SeatStatus.SOLD);
+    }
+
+    @Test
+    void rolledBackConfirmationLeavesSeatsHeld() {
+        transactionTemplate.executeWithoutResult(tx -> {
+            assertThat(seatService.confirmSeats(showtimeId, seatIds)).isTrue();
+            tx.setRollbackOnly();
+        });
+
+        assertThat(status()).isEqualTo(Seat.SeatStatus.RESERVED);
+    }
+
+    @Test
+    void rolledBackReleaseLeavesSeatsHeld() {
+        transactionTemplate.executeWithoutResult(tx -> {
+            assertThat(seatService.releaseSeats(showtimeId, seatIds)).isTrue();
+            assertThat(status()).isEqualTo(Seat.SeatStatus.AVAILABLE);
+            tx.setRollbackOnly();
+        });
+
+        assertThat(status()).isEqualTo(Seat.SeatStatus.RESERVED);
+        assertThat(seatService.releaseSeats(showtimeId, seatIds)).isTrue();
+        assertThat(status()).isEqualTo(Seat.SeatStatus.AVAILABLE);
+    }
+
+    // Both seats always move together
+    private Seat.SeatStatus status() {
+        Seat.SeatStatus first = seatMapEngine.statusOf(showtimeId, seatIds.get(0));
+        assertThat(seatMapEngine.statusOf(showtimeId, seatIds.get(1))).isEqualTo(first);
+        return first;
+    }
+}